@@ -0,0 +1,103 @@
+package com.spring.onedayboot.book;
+
+import com.spring.onedayboot.OnedaybootApplication;
+import com.spring.onedayboot.book.dto.BookListResponse;
+import com.spring.onedayboot.book.search.BookSearchIndex;
+import com.spring.onedayboot.book.service.BookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내장 H2 에 책을 적재한 뒤 BookService.searchBooks 의 처리 시간과 할당량을 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookSearchBenchmark {
+
+    private static final String[] WORDS = {"스프링", "자바", "부트", "데이터", "JPA", "입문", "실전", "가이드", "클린", "코드"};
+
+    @Param({"100000"})
+    private int bookCount;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private int lastPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SpringApplication application = new SpringApplication(OnedaybootApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql", "false",
+                "logging.level.root", "WARN"));
+        // jmhJar 에는 자동 설정 목록 파일이 하나만 들어가 액추에이터의 MeterRegistry 가 등록되지 않는다
+        application.addInitializers(context -> context.getBeanFactory()
+                .registerSingleton("meterRegistry", new SimpleMeterRegistry()));
+        this.context = application.run();
+
+        JdbcTemplate jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(this.bookCount);
+        for (int i = 0; i < this.bookCount; i++) {
+            rows.add(new Object[]{title(i), 10000L + i % 50000, new Timestamp(now.getTime() + i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO book (title, price, created_at) VALUES (?, ?, ?)", rows);
+        this.context.getBean(BookSearchIndex.class).reindex();
+
+        this.bookService = this.context.getBean(BookService.class);
+        this.lastPage = this.bookCount / 10;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public List<BookListResponse> firstPage() {
+        return this.bookService.searchBooks(null, null, null, 1, 10, Sort.Direction.DESC, null);
+    }
+
+    @Benchmark
+    public List<BookListResponse> deepPage() {
+        return this.bookService.searchBooks(null, null, null, this.lastPage, 10, Sort.Direction.DESC, null);
+    }
+
+    @Benchmark
+    public List<BookListResponse> largePage() {
+        return this.bookService.searchBooks(null, null, null, 1, 10000, Sort.Direction.DESC, null);
+    }
+
+    @Benchmark
+    public List<BookListResponse> titleSearch() {
+        return this.bookService.searchBooks(WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)], null, null, 1, 10, Sort.Direction.DESC, null);
+    }
+
+    private static String title(int i) {
+        return WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i;
+    }
+}
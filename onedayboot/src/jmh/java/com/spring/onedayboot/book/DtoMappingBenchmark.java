@@ -0,0 +1,98 @@
+package com.spring.onedayboot.book;
+
+import com.spring.onedayboot.book.dto.BookCommentRow;
+import com.spring.onedayboot.book.dto.BookListResponse;
+import com.spring.onedayboot.book.dto.BookReadResponse;
+import com.spring.onedayboot.book.dto.CommentListResponse;
+import com.spring.onedayboot.book.entity.Book;
+import com.spring.onedayboot.book.entity.Comment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 실행되는 DTO 변환 메서드의 처리 시간과 할당량을 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMappingBenchmark {
+
+    private Book book;
+    private Comment comment;
+    private Comment commentWithoutPage;
+
+    @Setup
+    public void setUp() {
+        this.book = Book.builder()
+                .bookId(1L)
+                .title("스프링 부트 핵심 가이드")
+                .price(32000L)
+                .createdAt(LocalDateTime.now())
+                .build();
+        this.comment = Comment.builder()
+                .commentId(1L)
+                .book(this.book)
+                .comment("의존성 주입을 설명하는 부분이 인상적이다.")
+                .page(128)
+                .createdAt(LocalDateTime.now())
+                .build();
+        this.commentWithoutPage = this.comment.toBuilder().page(null).build();
+    }
+
+    @Benchmark
+    public BookListResponse bookListResponse() {
+        return BookListResponse.fromBook(this.book);
+    }
+
+    /**
+     * 책 조회 쿼리의 결과 행을 화면 DTO 로 변환한다. 코멘트 변환도 측정에 포함된다.
+     */
+    @Benchmark
+    public BookReadResponse bookReadResponse(BookReadRows rows) {
+        return BookReadResponse.fromRows(rows.rows, rows.commentCount);
+    }
+
+    @Benchmark
+    public CommentListResponse commentListResponse() {
+        return CommentListResponse.fromComment(this.comment);
+    }
+
+    @Benchmark
+    public CommentListResponse commentListResponseWithoutPage() {
+        return CommentListResponse.fromComment(this.commentWithoutPage);
+    }
+
+    /**
+     * 책 조회 쿼리가 반환하는 조인 결과 행 (첫 페이지 코멘트 수 + 다음 페이지 확인용 1 행).
+     * bookReadResponse 에서만 사용하므로 나머지 벤치마크는 코멘트 수별로 반복되지 않는다.
+     */
+    @State(Scope.Benchmark)
+    public static class BookReadRows {
+
+        @Param({"20", "100"})
+        private int commentCount;
+
+        private List<BookCommentRow> rows;
+
+        @Setup
+        public void setUp() {
+            LocalDateTime now = LocalDateTime.now();
+            this.rows = new ArrayList<>(this.commentCount + 1);
+            for (long i = 1; i <= this.commentCount + 1; i++) {
+                this.rows.add(new BookCommentRow(1L, "스프링 부트 핵심 가이드", 32000L, now, now, 0L,
+                        i, "의존성 주입을 설명하는 부분이 인상적이다.", 128, now));
+            }
+        }
+    }
+}
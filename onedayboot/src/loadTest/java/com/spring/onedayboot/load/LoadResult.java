@@ -0,0 +1,68 @@
+package com.spring.onedayboot.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 한 시나리오의 부하 테스트 결과.
+ */
+public class LoadResult {
+
+    private final String name;
+    private final long[] latencies;
+    private final long errors;
+    private final Duration duration;
+
+    /**
+     * @param name 시나리오 이름
+     * @param latencies 성공한 요청의 응답 시간 (나노초)
+     * @param errors 실패한 요청 수
+     * @param duration 측정 시간
+     */
+    public LoadResult(String name, long[] latencies, long errors, Duration duration) {
+        this.name = name;
+        this.latencies = latencies.clone();
+        Arrays.sort(this.latencies);
+        this.errors = errors;
+        this.duration = duration;
+    }
+
+    public static String header() {
+        return String.format("%-28s %10s %8s %10s %9s %9s %9s %9s",
+                "scenario", "requests", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)");
+    }
+
+    /**
+     * 응답 시간 백분위를 밀리초로 반환한다.
+     * @param percentile 0 ~ 100 사이의 백분위
+     * @return 응답 시간 (밀리초)
+     */
+    public double percentile(double percentile) {
+        if (this.latencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * this.latencies.length) - 1;
+        return this.latencies[Math.max(0, Math.min(index, this.latencies.length - 1))] / 1_000_000.0;
+    }
+
+    public double throughput() {
+        return this.latencies.length / (this.duration.toMillis() / 1000.0);
+    }
+
+    public static String csvHeader() {
+        return "scenario,requests,errors,rps,p50_ms,p90_ms,p99_ms,max_ms";
+    }
+
+    public String toCsv() {
+        return String.format("\"%s\",%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+                this.name, this.latencies.length, this.errors, throughput(),
+                percentile(50), percentile(90), percentile(99), percentile(100));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-28s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f",
+                this.name, this.latencies.length, this.errors, throughput(),
+                percentile(50), percentile(90), percentile(99), percentile(100));
+    }
+}
@@ -0,0 +1,102 @@
+package com.spring.onedayboot.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 정해진 시간 동안 동시 사용자 수만큼의 스레드로 시나리오를 반복 호출한다.
+ */
+public class LoadRunner {
+
+    private final HttpClient client;
+    private final int concurrency;
+
+    public LoadRunner(HttpClient client, int concurrency) {
+        this.client = client;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * 시나리오를 실행하고 결과를 반환한다.
+     * @param scenario 실행할 시나리오
+     * @param duration 실행 시간
+     * @return 부하 테스트 결과
+     */
+    public LoadResult run(Scenario scenario, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Worker> workers = new ArrayList<>(this.concurrency);
+        CountDownLatch done = new CountDownLatch(this.concurrency);
+        for (int i = 0; i < this.concurrency; i++) {
+            Worker worker = new Worker(scenario, deadline, done);
+            workers.add(worker);
+            Thread thread = new Thread(worker, "load-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        long errors = 0;
+        int total = 0;
+        for (Worker worker : workers) {
+            errors += worker.errors;
+            total += worker.count;
+        }
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+        }
+        return new LoadResult(scenario.name(), latencies, errors, duration);
+    }
+
+    private class Worker implements Runnable {
+
+        private final Scenario scenario;
+        private final long deadline;
+        private final CountDownLatch done;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private Worker(Scenario scenario, long deadline, CountDownLatch done) {
+            this.scenario = scenario;
+            this.deadline = deadline;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (System.nanoTime() < this.deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(this.scenario.request().get(), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            this.errors++;
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        this.errors++;
+                        continue;
+                    }
+                    record(System.nanoTime() - start);
+                }
+            } finally {
+                this.done.countDown();
+            }
+        }
+
+        private void record(long latency) {
+            if (this.count == this.latencies.length) {
+                this.latencies = Arrays.copyOf(this.latencies, this.count * 2);
+            }
+            this.latencies[this.count++] = latency;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.spring.onedayboot.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 실행 중인 애플리케이션에 HTTP 부하를 주고 처리량과 응답 시간 백분위를 출력한다.
+ * <p>
+ * 플랫폼 스레드 모드와 가상 스레드 모드를 비교하려면 애플리케이션을 각각 아래와 같이 실행한 뒤
+ * 같은 옵션으로 {@code gradle loadTest -Pconcurrency=200 -Pduration=30} 을 실행한다.
+ * <pre>
+ * gradle bootRun
+ * gradle bootRun -PjavaVersion=21 --args='--spring.profiles.active=virtual'
+ * </pre>
+ * {@code GET /book/list} 와 {@code GET /api/v1/books} 시나리오를 나란히 실행하므로
+ * Thymeleaf 화면 경로와 JSON API 경로의 처리량도 함께 비교할 수 있다.
+ * JSON 과 NDJSON 시나리오는 같은 10 권을 요청하므로 응답 형식에 따른 차이만 비교된다.
+ * 쓰기 요청은 빈도 제한에 걸려 429 로 끝나므로, 처리량을 잴 때는 애플리케이션을
+ * {@code --rate-limit.enabled=false} 로 실행한다.
+ * <p>
+ * 운영과 비슷한 데이터로 측정하려면 빈 DB 에 seed 프로필로 데이터를 만들고, 생성이 끝난 뒤 책 수를 함께 넘긴다.
+ * 책 상세 요청은 지프 분포로 일부 책에 몰리고, 혼합 시나리오는 상세 50%, 목록 30%, 검색 15%, 코멘트 등록 5% 로 요청한다.
+ * <pre>
+ * gradle bootRun --args='--spring.profiles.active=seed --rate-limit.enabled=false'
+ * gradle loadTest -Pbooks=1000000 -Pscenarios=mix
+ * </pre>
+ * 결과는 build/load-test/results.csv 에 커밋(-Plabel, 기본값은 현재 커밋)별로 덧붙여 커밋 사이의 결과를 비교할 수 있다.
+ */
+public class LoadTest {
+
+    // seed 프로필이 만드는 책 제목에 들어가는 단어
+    private static final String[] SEARCH_WORDS = {"스프링", "자바", "데이터", "설계", "테스트", "성능", "분산", "도메인"};
+    // 목록 화면의 기본 가격대 필터
+    private static final String[] PRICE_RANGES = {"maxPrice=10000", "minPrice=10000&maxPrice=30000",
+            "minPrice=30000&maxPrice=50000", "minPrice=50000"};
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("baseUrl", "http://localhost:8080");
+        int concurrency = Integer.parseInt(System.getProperty("concurrency", "200"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(System.getProperty("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(System.getProperty("warmup", "10")));
+        long books = Long.parseLong(System.getProperty("books", "0"));
+        List<String> filters = Arrays.stream(System.getProperty("scenarios", "").split(","))
+                .map(String::trim)
+                .filter(filter -> !filter.isEmpty())
+                .toList();
+        String label = System.getProperty("label", "local");
+        Path out = Path.of(System.getProperty("out", "build/load-test/results.csv"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        // 데이터를 만들지 않았으면 여기서 등록한 책만 조회
+        long bookId = createBook(client, baseUrl);
+
+        Scenario list = new Scenario("GET /book/list", () -> HttpRequest.newBuilder(URI.create(baseUrl + "/book/list"))
+                .GET()
+                .build());
+        Scenario search = new Scenario("GET /book/list?title=", () -> HttpRequest.newBuilder(URI.create(baseUrl + "/book/list?title="
+                        + URLEncoder.encode(SEARCH_WORDS[ThreadLocalRandom.current().nextInt(SEARCH_WORDS.length)], StandardCharsets.UTF_8)))
+                .GET()
+                .build());
+        Scenario price = new Scenario("GET /book/list?minPrice=", () -> HttpRequest.newBuilder(URI.create(baseUrl + "/book/list?"
+                        + PRICE_RANGES[ThreadLocalRandom.current().nextInt(PRICE_RANGES.length)]))
+                .GET()
+                .build());
+        Scenario read = new Scenario("GET /book/read/{id}", () -> HttpRequest.newBuilder(URI.create(baseUrl + "/book/read/"
+                        + (books > 0 ? zipf(books) : bookId)))
+                .GET()
+                .build());
+        Scenario comment = new Scenario("POST /comment/create", () -> HttpRequest.newBuilder(URI.create(baseUrl + "/comment/create"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"bookId\":" + (books > 0 ? zipf(books) : bookId) + ",\"comment\":\"load test\",\"page\":1}"))
+                .build());
+
+        List<Scenario> scenarios = List.of(
+                list,
+                search,
+                price,
+                read,
+                new Scenario("GET /api/v1/books", () -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/books?size=10"))
+                        .header("Accept", "application/json")
+                        .GET()
+                        .build()),
+                new Scenario("GET /api/v1/books (ndjson)", () -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/books?size=10"))
+                        .header("Accept", "application/x-ndjson")
+                        .GET()
+                        .build()),
+                comment,
+                new Scenario("mix", () -> {
+                    int p = ThreadLocalRandom.current().nextInt(100);
+                    Scenario scenario = p < 50 ? read : p < 80 ? list : p < 95 ? search : comment;
+                    return scenario.request().get();
+                }));
+
+        LoadRunner runner = new LoadRunner(client, concurrency);
+        System.out.printf("baseUrl=%s concurrency=%d duration=%ds%n", baseUrl, concurrency, duration.toSeconds());
+        System.out.println(LoadResult.header());
+        for (Scenario scenario : scenarios) {
+            if (!filters.isEmpty() && filters.stream().noneMatch(scenario.name()::contains)) {
+                continue;
+            }
+            runner.run(scenario, warmup);
+            LoadResult result = runner.run(scenario, duration);
+            System.out.println(result);
+            append(out, label, concurrency, result);
+        }
+        System.out.println("results: " + out.toAbsolutePath());
+    }
+
+    /**
+     * 1 이 가장 자주 나오는 지프 분포(지수 1)에서 1 ~ max 사이의 값을 뽑는다.
+     * <p>
+     * 뽑은 값을 그대로 책 번호로 쓰므로 책 번호가 1 ~ max 로 빈틈없이 이어져 있다고 가정한다.
+     * 빈 DB 에 seed 프로필로 데이터를 만든 직후에만 성립하며, 책을 지운 DB 에서는 없는 번호가 404 오류로 집계된다.
+     */
+    static long zipf(long max) {
+        return Math.min(max, (long) Math.exp(ThreadLocalRandom.current().nextDouble() * Math.log(max + 1.0)));
+    }
+
+    /**
+     * 결과를 CSV 파일에 한 줄 덧붙인다. 파일이 없으면 헤더를 먼저 쓴다.
+     */
+    static void append(Path out, String label, int concurrency, LoadResult result) throws IOException {
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        if (Files.notExists(out)) {
+            Files.writeString(out, "time,label,concurrency," + LoadResult.csvHeader() + "\n", StandardCharsets.UTF_8);
+        }
+        Files.writeString(out, LocalDateTime.now().withNano(0) + "," + label + "," + concurrency + "," + result.toCsv() + "\n",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * 코멘트 시나리오에서 사용할 책을 등록하고 id 를 반환한다.
+     */
+    static long createBook(HttpClient client, String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/book/create"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("title=load-test&price=1000", StandardCharsets.UTF_8))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location")
+                .orElseThrow(() -> new IllegalStateException("책 등록에 실패했습니다: " + response.statusCode()));
+        return Long.parseLong(location.substring(location.lastIndexOf('/') + 1));
+    }
+}
@@ -0,0 +1,12 @@
+package com.spring.onedayboot.load;
+
+import java.net.http.HttpRequest;
+import java.util.function.Supplier;
+
+/**
+ * 부하 테스트에서 반복 실행할 요청.
+ * @param name 결과에 표시할 이름
+ * @param request 매 호출마다 보낼 요청을 만드는 함수
+ */
+public record Scenario(String name, Supplier<HttpRequest> request) {
+}
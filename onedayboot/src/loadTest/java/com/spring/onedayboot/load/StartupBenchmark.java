@@ -0,0 +1,152 @@
+package com.spring.onedayboot.load;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 애플리케이션을 실행 모드별로 여러 번 새로 띄우면서 기동 시간과 첫 요청 응답까지의 시간을 측정한다.
+ * <p>
+ * {@code ./gradlew startupTest} 는 boot jar 와 CDS 아카이브를 만든 뒤 아래 모드를 차례로 측정한다.
+ * Spring Boot 3.3 플러그인의 bootJar 는 Gradle 9 에서 실행되지 않으므로 반드시 래퍼(Gradle 8.8)로 실행한다.
+ * 손으로 조립한 jar 로 잰 값은 bootJar 결과물과 다를 수 있으므로 비교 기준으로 쓰지 않는다.
+ * <ul>
+ *     <li>jar: {@code java -jar} 로 실행 (기존 방식)</li>
+ *     <li>cds: 풀어 놓은 jar 를 CDS 아카이브와 함께 실행</li>
+ *     <li>cds+aot: 여기에 AOT 처리된 빈 구성을 사용</li>
+ *     <li>cds+aot+lazy: 여기에 fast-start 프로필(지연 초기화)을 사용</li>
+ * </ul>
+ * 매번 메모리 DB 로 실행하므로 결과는 로컬 DB 상태와 무관하다.
+ */
+public class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds \\(process running for ([0-9.]+)\\)");
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("java", "java");
+        String jar = System.getProperty("jar");
+        String cdsJar = System.getProperty("cdsJar");
+        String cdsArchive = System.getProperty("cdsArchive");
+        int runs = Integer.parseInt(System.getProperty("runs", "5"));
+        int port = Integer.parseInt(System.getProperty("port", "18080"));
+
+        List<Mode> modes = List.of(
+                new Mode("jar", List.of(), jar, List.of()),
+                new Mode("cds", List.of("-XX:SharedArchiveFile=" + cdsArchive), cdsJar, List.of()),
+                new Mode("cds+aot", List.of("-XX:SharedArchiveFile=" + cdsArchive, "-Dspring.aot.enabled=true"), cdsJar, List.of()),
+                new Mode("cds+aot+lazy", List.of("-XX:SharedArchiveFile=" + cdsArchive, "-Dspring.aot.enabled=true"), cdsJar,
+                        List.of("--spring.profiles.active=fast-start")));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        System.out.printf("runs=%d (median)%n", runs);
+        System.out.printf("%-14s %14s %14s %14s%n", "mode", "context(ms)", "process(ms)", "first req(ms)");
+        for (Mode mode : modes) {
+            long[] context = new long[runs];
+            long[] process = new long[runs];
+            long[] firstRequest = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                long[] result = measure(client, java, mode, port);
+                context[i] = result[0];
+                process[i] = result[1];
+                firstRequest[i] = result[2];
+            }
+            System.out.printf("%-14s %14d %14d %14d%n", mode.name(), median(context), median(process), median(firstRequest));
+        }
+    }
+
+    /**
+     * 애플리케이션을 한 번 실행해 첫 요청이 성공하면 종료한다.
+     * @return 컨텍스트 기동 시간, 프로세스 기동 시간 (Spring 이 로그로 남긴 값), 프로세스 시작부터 첫 요청 응답까지의 시간 (밀리초)
+     */
+    private static long[] measure(HttpClient client, String java, Mode mode, int port) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(mode.jvmArgs());
+        command.add("-jar");
+        command.add(mode.jar());
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup");
+        command.addAll(mode.appArgs());
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        CompletableFuture<long[]> started = new CompletableFuture<>();
+        Thread reader = new Thread(() -> readStartedLine(process, started));
+        reader.setDaemon(true);
+        reader.start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/book/list"))
+                    .GET()
+                    .build();
+            long deadline = start + START_TIMEOUT.toNanos();
+            while (true) {
+                if (!process.isAlive() || System.nanoTime() > deadline) {
+                    throw new IllegalStateException(mode.name() + " 모드로 실행하지 못했습니다: " + command);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (ConnectException e) {
+                    // 아직 포트를 열지 않음
+                }
+                Thread.sleep(10);
+            }
+            long firstRequest = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            long[] times = started.get(START_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            return new long[]{times[0], times[1], firstRequest};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * 로그에서 "Started ... in x seconds (process running for y)" 를 찾아 밀리초로 전달한다.
+     * 프로세스 출력 버퍼가 가득 차서 멈추지 않도록 종료될 때까지 계속 읽는다.
+     */
+    private static void readStartedLine(Process process, CompletableFuture<long[]> started) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (!started.isDone() && matcher.find()) {
+                    started.complete(new long[]{
+                            Math.round(Double.parseDouble(matcher.group(1)) * 1000),
+                            Math.round(Double.parseDouble(matcher.group(2)) * 1000)});
+                }
+            }
+        } catch (IOException e) {
+            // 프로세스가 종료되며 스트림이 닫힘
+        }
+        started.completeExceptionally(new IllegalStateException("기동 로그를 찾지 못했습니다."));
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private record Mode(String name, List<String> jvmArgs, String jar, List<String> appArgs) {
+    }
+}
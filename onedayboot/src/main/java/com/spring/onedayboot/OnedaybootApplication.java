@@ -1,10 +1,19 @@
 package com.spring.onedayboot;
 
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
 
+@EnableCaching
 @EnableJpaAuditing
+@EnableScheduling
 @SpringBootApplication
 public class OnedaybootApplication {
 
@@ -12,4 +21,14 @@ public class OnedaybootApplication {
         SpringApplication.run(OnedaybootApplication.class, args);
     }
 
+    /**
+     * 지연 초기화(fast-start 프로필)로 실행해도 @Scheduled 메서드가 있는 빈은 바로 생성한다.
+     * 스케줄 작업은 빈이 생성될 때 등록되므로, 지연 초기화하면 요청이 들어와 빈이 생성될 때까지 실행되지 않는다.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Scheduled>) method -> AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+
 }
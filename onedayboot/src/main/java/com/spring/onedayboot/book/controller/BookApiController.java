@@ -0,0 +1,135 @@
+package com.spring.onedayboot.book.controller;
+
+import com.spring.onedayboot.book.dto.BookCreateRequest;
+import com.spring.onedayboot.book.dto.BookReadResponse;
+import com.spring.onedayboot.book.dto.BookSliceResponse;
+import com.spring.onedayboot.book.service.BookExportService;
+import com.spring.onedayboot.book.service.BookService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+/**
+ * 외부 API 클라이언트를 위한 책 JSON API.
+ * 목록은 커서 기반 JSON 페이지 또는 application/x-ndjson 스트림으로 제공한다.
+ */
+@RestController
+@RequestMapping("/api/v1/books")
+public class BookApiController {
+
+    private static final MediaType APPLICATION_NDJSON_UTF8 = MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+
+    private final BookService bookService;
+    private final BookExportService bookExportService;
+
+    @Autowired
+    public BookApiController(BookService bookService, BookExportService bookExportService) {
+        this.bookService = bookService;
+        this.bookExportService = bookExportService;
+    }
+
+    /**
+     * 책을 등록한다.
+     * @param request 책 등록 정보를 담은 DTO
+     * @return 등록된 책 정보
+     */
+    @RequestMapping(method = RequestMethod.POST)
+    public ResponseEntity<BookReadResponse> create(@Validated @RequestBody BookCreateRequest request) {
+        Long bookId = this.bookService.createBook(request);
+        return ResponseEntity.created(URI.create("/api/v1/books/" + bookId))
+                .body(this.bookService.readBook(bookId));
+    }
+
+    /**
+     * 책을 조회한다.
+     * @param bookId 조회할 책의 id
+     * @return 책 정보와 첫 페이지 코멘트
+     * @throws NoSuchElementException 조회된 책이 없을 때
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/{bookId}")
+    public ResponseEntity<BookReadResponse> read(@PathVariable Long bookId) throws NoSuchElementException {
+        return ResponseEntity.ok(this.bookService.readBook(bookId));
+    }
+
+    /**
+     * 책 목록을 커서 기준으로 조회한다.
+     * @param title 검색할 책 제목
+     * @param minPrice 최소 가격 (포함)
+     * @param maxPrice 최대 가격 (제외)
+     * @param cursor 이전 페이지의 마지막 위치를 나타내는 커서
+     * @param size 페이지 크기
+     * @param direction 정렬 방향
+     * @return 책 목록과 다음 커서
+     */
+    @RequestMapping(method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BookSliceResponse> list(@RequestParam(value = "title", required = false) String title,
+                                                  @RequestParam(value = "minPrice", required = false) Long minPrice,
+                                                  @RequestParam(value = "maxPrice", required = false) Long maxPrice,
+                                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                                  @RequestParam(value = "size", required = false) Integer size,
+                                                  @RequestParam(value = "direction", required = false) Sort.Direction direction) {
+        return ResponseEntity.ok(this.bookService.scrollBooks(title, minPrice, maxPrice, cursor, size, direction, null));
+    }
+
+    /**
+     * 책을 id 순서로 한 줄에 한 권씩 NDJSON 으로 스트리밍한다. 목록 API 와 같은 검색 조건을 사용한다.
+     * 응답은 요청 스레드를 반납한 뒤 비동기로 쓰이며, 메모리 사용량은 책 수와 무관하다.
+     * @param title 검색할 책 제목
+     * @param minPrice 최소 가격 (포함)
+     * @param maxPrice 최대 가격 (제외)
+     * @param size 최대 책 수 (비어있으면 조건에 맞는 모든 책)
+     * @return 책 NDJSON 스트림
+     */
+    @RequestMapping(method = RequestMethod.GET, produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(value = "title", required = false) String title,
+                                                        @RequestParam(value = "minPrice", required = false) Long minPrice,
+                                                        @RequestParam(value = "maxPrice", required = false) Long maxPrice,
+                                                        @RequestParam(value = "size", required = false) Integer size) {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            this.bookExportService.exportBooks(writer, title, minPrice, maxPrice, size);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON_UTF8)
+                .body(body);
+    }
+
+    /**
+     * NoSuchElementException 예외 처리 핸들러
+     * @param e NoSuchElementException 예외
+     * @return 404 응답
+     */
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<Void> noSuchElementExceptionHandler(NoSuchElementException e) {
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * IllegalArgumentException 예외 처리 핸들러
+     * @param e IllegalArgumentException 예외
+     * @return 400 응답
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> illegalArgumentExceptionHandler(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+}
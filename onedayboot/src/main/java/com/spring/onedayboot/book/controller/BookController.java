@@ -2,15 +2,21 @@ package com.spring.onedayboot.book.controller;
 
 import com.spring.onedayboot.book.dto.*;
 import com.spring.onedayboot.book.service.BookService;
+import com.spring.onedayboot.common.web.PageCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.Errors;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.ModelAndView;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
@@ -20,10 +26,12 @@ import java.util.stream.Collectors;
 public class BookController {
 
     private final BookService bookService;
+    private final PageCache pageCache;
 
     @Autowired
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, PageCache pageCache) {
         this.bookService = bookService;
+        this.pageCache = pageCache;
     }
 
     /**
@@ -48,16 +56,28 @@ public class BookController {
 
     /**
      * 책 조회 페이지로 이동한다.
+     * 책과 코멘트가 바뀌지 않았으면 렌더링 없이 304 를 반환하고 (캐시된 조회 결과가 있으면 DB 도 조회하지 않는다),
+     * 다른 클라이언트를 위해 같은 버전으로 렌더링한 화면이 있으면 그대로 반환한다.
      * @param bookId 조회할 책의 id
-     * @return 책 조회 페이지
+     * @param webRequest 조건부 요청 헤더를 확인할 요청 객체
+     * @return 책 조회 페이지 (304 이거나 캐시된 화면을 반환했을 때는 null)
      */
     @RequestMapping( method = RequestMethod.GET, value = "/read/{bookId}")
-    public ModelAndView read(@PathVariable Long bookId) {
+    public ModelAndView read(@PathVariable Long bookId, WebRequest webRequest,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
         ModelAndView mav = new ModelAndView();
         try {
-            BookReadResponse response = this.bookService.readBook(bookId);
+            // 검증 값은 캐시된 조회 결과에 함께 담겨 있으므로 캐시가 있으면 DB 를 조회하지 않는다
+            BookReadResponse book = this.bookService.readBook(bookId);
+            BookCacheValidator validator = book.getCacheValidator();
+            if (webRequest.checkNotModified(validator.getETag(), validator.getLastModifiedMillis())) {
+                return null;
+            }
+            if (this.pageCache.writeIfCached("read:" + bookId, validator.getETag(), request, response)) {
+                return null;
+            }
             mav.setViewName("book/read");
-            mav.addObject("book", response);
+            mav.addObject("book", book);
         } catch (NoSuchElementException e) {
             mav.setViewName("common/error/422");
             mav.setStatus(HttpStatus.UNPROCESSABLE_ENTITY);
@@ -95,7 +115,12 @@ public class BookController {
                     .collect(Collectors.joining("\n"));
             return error422(errorMessage, String.format("/book/edit/%s", request.getBookId()));
         }
-        this.bookService.updateBook(request);
+        try {
+            this.bookService.updateBook(request);
+        } catch (OptimisticLockingFailureException e) {
+            // 다시 수정 화면을 열어 최신 정보로 수정하도록 안내
+            return error409(e.getMessage(), String.format("/book/edit/%s", request.getBookId()));
+        }
         return new ModelAndView(String.format("redirect:/book/read/%s", request.getBookId()));
     }
 
@@ -114,18 +139,51 @@ public class BookController {
     /**
      * 책 목록 페이지로 이동한다.
      * @param title 검색할 책 제목
+     * @param minPrice 최소 가격 (포함)
+     * @param maxPrice 최대 가격 (제외)
      * @param page 페이지 번호
+     * @param sort 정렬 기준 (LATEST, POPULARITY)
+     * @param cursor 키셋 페이지네이션 커서 (전달되면 page 대신 커서 기준으로 조회)
+     * @param webRequest 조건부 요청 헤더를 확인할 요청 객체
      * @param mav ModelAndView 객체
-     * @return 책 목록 페이지
+     * @return 책 목록 페이지 (304 이거나 캐시된 화면을 반환했을 때는 null)
      */
     @RequestMapping( method = RequestMethod.GET, value = {"/list", ""})
     public ModelAndView bookList(@RequestParam(value = "title", required = false) String title,
+                                 @RequestParam(value = "minPrice", required = false) Long minPrice,
+                                 @RequestParam(value = "maxPrice", required = false) Long maxPrice,
                                  @RequestParam(value = "page", required = false) Integer page,
                                  @RequestParam(value = "size", required = false) Integer size,
                                  @RequestParam(value = "direction", required = false, defaultValue = "DESC") Sort.Direction direction,
-                                 ModelAndView mav) {
+                                 @RequestParam(value = "sort", required = false) BookListSort sort,
+                                 @RequestParam(value = "cursor", required = false) String cursor,
+                                 WebRequest webRequest,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response,
+                                 ModelAndView mav) throws IOException {
+        BookCacheValidator validator = this.bookService.readBookListCacheValidator(title, minPrice, maxPrice);
+        if (webRequest.checkNotModified(validator.getETag(), validator.getLastModifiedMillis())) {
+            return null;
+        }
+        String key = String.join(":", "list", normalize(title), normalize(minPrice), normalize(maxPrice),
+                normalize(page), normalize(size), direction.name(), normalize(sort), normalize(cursor));
+        if (this.pageCache.writeIfCached(key, validator.getETag(), request, response)) {
+            return null;
+        }
         mav.setViewName("book/list");
-        List<BookListResponse> books = this.bookService.searchBooks(title, page, size, direction);
+        // 가격대별 책 수는 책이 바뀔 때 함께 바뀌므로 같은 검증 값으로 캐시해도 된다
+        mav.addObject("priceFacets", this.bookService.listPriceFacets());
+        if (cursor != null) {
+            try {
+                BookSliceResponse slice = this.bookService.scrollBooks(title, minPrice, maxPrice, cursor, size, direction, sort);
+                mav.addObject("books", slice.getBooks());
+                mav.addObject("nextCursor", slice.getNextCursor());
+            } catch (IllegalArgumentException e) {
+                return error422(e.getMessage(), "/book/list");
+            }
+            return mav;
+        }
+        List<BookListResponse> books = this.bookService.searchBooks(title, minPrice, maxPrice, page, size, direction, sort);
         mav.addObject("books", books);
         return mav;
     }
@@ -139,6 +197,10 @@ public class BookController {
         return error422(e.getMessage(), "/book/list");
     }
 
+    private String normalize(Object value) {
+        return value == null ? "" : value.toString().trim();
+    }
+
     /**
      * 422 에러 페이지를 반환한다.
      * @param message 에러 메시지
@@ -154,4 +216,19 @@ public class BookController {
         return mav;
     }
 
+    /**
+     * 409 에러 페이지를 반환한다.
+     * @param message 에러 메시지
+     * @param location 이전 페이지로 돌아가기 위한 경로
+     * @return 409 에러 페이지
+     */
+    private ModelAndView error409(String message, String location) {
+        ModelAndView mav = new ModelAndView();
+        mav.setViewName("common/error/409");
+        mav.setStatus(HttpStatus.CONFLICT);
+        mav.addObject("message", message);
+        mav.addObject("location", location);
+        return mav;
+    }
+
 }
@@ -0,0 +1,56 @@
+package com.spring.onedayboot.book.controller;
+
+import com.spring.onedayboot.book.service.BookExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/book")
+public class BookExportController {
+
+    private final BookExportService bookExportService;
+
+    @Autowired
+    public BookExportController(BookExportService bookExportService) {
+        this.bookExportService = bookExportService;
+    }
+
+    /**
+     * 모든 책을 CSV 또는 NDJSON 형식으로 스트리밍한다.
+     * @param format 내보낼 형식 (csv, ndjson)
+     * @param comments 코멘트를 함께 내보낼지 여부
+     * @return 내보내기 응답
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(value = "format", required = false, defaultValue = "csv") String format,
+                                                        @RequestParam(value = "comments", required = false, defaultValue = "false") boolean comments) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            this.bookExportService.exportBooks(writer, ndjson, comments);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson
+                        ? MediaType.parseMediaType("application/x-ndjson;charset=UTF-8")
+                        : MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(ndjson ? "books.ndjson" : "books.csv")
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
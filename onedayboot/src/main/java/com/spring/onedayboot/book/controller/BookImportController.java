@@ -0,0 +1,43 @@
+package com.spring.onedayboot.book.controller;
+
+import com.spring.onedayboot.book.dto.BookImportResponse;
+import com.spring.onedayboot.book.service.BookImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/book")
+public class BookImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final BookImportService bookImportService;
+
+    @Autowired
+    public BookImportController(BookImportService bookImportService) {
+        this.bookImportService = bookImportService;
+    }
+
+    /**
+     * 요청 본문의 CSV(title,price) 또는 NDJSON 을 읽어 책을 일괄 등록한다.
+     * @param contentType 요청 본문 형식 (application/x-ndjson 이 아니면 CSV 로 처리)
+     * @param body 요청 본문 스트림
+     * @return 일괄 등록 결과
+     */
+    @RequestMapping(method = RequestMethod.POST, value = "/import")
+    public ResponseEntity<BookImportResponse> importBooks(@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                          InputStream body) throws IOException {
+        boolean ndjson = contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(NDJSON));
+        BookImportResponse response = this.bookImportService.importBooks(body, ndjson);
+        return ResponseEntity.ok(response);
+    }
+}
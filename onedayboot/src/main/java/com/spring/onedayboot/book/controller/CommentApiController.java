@@ -0,0 +1,109 @@
+package com.spring.onedayboot.book.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.onedayboot.book.dto.CommentCreateRequest;
+import com.spring.onedayboot.book.dto.CommentListResponse;
+import com.spring.onedayboot.book.dto.CommentReadResponse;
+import com.spring.onedayboot.book.dto.CommentSliceResponse;
+import com.spring.onedayboot.book.service.CommentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 외부 API 클라이언트를 위한 코멘트 JSON API.
+ */
+@RestController
+@RequestMapping("/api/v1/comments")
+public class CommentApiController {
+
+    private static final MediaType APPLICATION_NDJSON_UTF8 = MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+    private static final int STREAM_PAGE_SIZE = 100;
+
+    private final CommentService commentService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public CommentApiController(CommentService commentService,
+                                ObjectMapper objectMapper) {
+        this.commentService = commentService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 코멘트를 등록한다.
+     * 쓰기 지연 모드에서는 요청을 큐에 넣고 바로 202 를 반환하며, 큐가 가득 차면 429 를 반환한다.
+     * 같은 책에 코멘트가 제한 빈도를 넘어 등록되면 429 와 Retry-After 를 반환한다.
+     * @param request 코멘트 등록 정보를 담은 DTO
+     * @return 등록된 코멘트
+     */
+    @RequestMapping(method = RequestMethod.POST)
+    public ResponseEntity<CommentReadResponse> create(@Validated @RequestBody CommentCreateRequest request) {
+        return this.commentService.createComment(request).toResponseEntity();
+    }
+
+    /**
+     * 책의 코멘트 목록을 커서 기준으로 조회한다.
+     * @param bookId 코멘트를 조회할 책의 id
+     * @param cursor 이전 페이지의 마지막 코멘트 id
+     * @param size 페이지 크기
+     * @return 코멘트 목록과 다음 커서
+     */
+    @RequestMapping(method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CommentSliceResponse> list(@RequestParam("bookId") Long bookId,
+                                                     @RequestParam(value = "cursor", required = false) Long cursor,
+                                                     @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(this.commentService.listComments(bookId, cursor, size));
+    }
+
+    /**
+     * 책의 모든 코멘트를 한 줄에 하나씩 NDJSON 으로 스트리밍한다.
+     * 커서 페이지 단위로 조회하면서 바로 쓰기 때문에 코멘트 수와 무관하게 한 페이지만 메모리에 올린다.
+     * @param bookId 코멘트를 조회할 책의 id
+     * @return 코멘트 NDJSON 스트림
+     */
+    @RequestMapping(method = RequestMethod.GET, produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam("bookId") Long bookId) {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            Long cursor = null;
+            CommentSliceResponse slice;
+            do {
+                slice = this.commentService.listComments(bookId, cursor, STREAM_PAGE_SIZE);
+                for (CommentListResponse comment : slice.getComments()) {
+                    writer.write(this.objectMapper.writeValueAsString(comment));
+                    writer.write('\n');
+                }
+                writer.flush();
+                cursor = slice.getNextCursor();
+            } while (slice.isHasNext());
+        };
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON_UTF8)
+                .body(body);
+    }
+
+    /**
+     * IllegalArgumentException 예외 처리 핸들러
+     * @param e IllegalArgumentException 예외
+     * @return 400 응답
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> illegalArgumentExceptionHandler(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+}
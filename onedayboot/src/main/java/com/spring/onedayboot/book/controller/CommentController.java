@@ -1,31 +1,107 @@
 package com.spring.onedayboot.book.controller;
 
 import com.spring.onedayboot.book.dto.CommentCreateRequest;
+import com.spring.onedayboot.book.dto.CommentListResponse;
 import com.spring.onedayboot.book.dto.CommentReadResponse;
+import com.spring.onedayboot.book.dto.CommentSliceResponse;
+import com.spring.onedayboot.book.feed.CommentFeedHub;
 import com.spring.onedayboot.book.service.CommentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/comment")
 public class CommentController {
 
+    private static final int FEED_REPLAY_SIZE = 100;
+
     private final CommentService commentService;
+    private final CommentFeedHub commentFeedHub;
 
     @Autowired
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService,
+                             CommentFeedHub commentFeedHub) {
         this.commentService = commentService;
+        this.commentFeedHub = commentFeedHub;
     }
 
+    /**
+     * 코멘트를 등록한다.
+     * 쓰기 지연 모드에서는 요청을 큐에 넣고 바로 202 를 반환하며, 큐가 가득 차면 429 를 반환한다.
+     * 같은 책에 코멘트가 제한 빈도를 넘어 등록되면 429 와 Retry-After 를 반환한다.
+     * @param request 코멘트 등록 정보를 담은 DTO
+     * @return 등록된 코멘트
+     */
     @RequestMapping(method = RequestMethod.POST, value = "/create")
-    public ResponseEntity<CommentReadResponse> create(@RequestBody CommentCreateRequest request) {
-        CommentReadResponse response = this.commentService.createComment(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<CommentReadResponse> create(@Validated @RequestBody CommentCreateRequest request) {
+        return this.commentService.createComment(request).toResponseEntity();
+    }
+
+    /**
+     * 책의 코멘트 목록을 커서 기준으로 조회한다.
+     * @param bookId 코멘트를 조회할 책의 id
+     * @param cursor 이전 페이지의 마지막 코멘트 id
+     * @param size 페이지 크기
+     * @return 코멘트 목록과 다음 커서
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/list")
+    public ResponseEntity<CommentSliceResponse> list(@RequestParam("bookId") Long bookId,
+                                                     @RequestParam(value = "cursor", required = false) Long cursor,
+                                                     @RequestParam(value = "size", required = false) Integer size) {
+        CommentSliceResponse response = this.commentService.listComments(bookId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 책에 새로 등록되는 코멘트를 SSE 로 받는다.
+     * 다시 연결할 때 Last-Event-ID 가 있으면 그 이후의 코멘트를 한 페이지까지 먼저 보낸다.
+     * 처음 연결할 때는 Last-Event-ID 가 없으므로, 화면에 그린 마지막 코멘트 id 를 after 로 받아
+     * 화면을 그린 뒤 구독하기 전까지 등록된 코멘트를 같은 방식으로 먼저 보낸다.
+     * @param bookId 코멘트를 받을 책의 id
+     * @param after 화면에 그린 마지막 코멘트 id (처음 연결할 때만 사용)
+     * @param lastEventId 마지막으로 받은 코멘트 id
+     * @return SSE 연결, 연결 수가 최대치면 503
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam("bookId") Long bookId,
+                                             @RequestParam(value = "after", required = false) Long after,
+                                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        // 다시 연결할 때도 브라우저는 처음 URL 을 그대로 사용하므로 Last-Event-ID 를 우선한다
+        Long replayFrom = lastEventId != null ? lastEventId : after;
+        List<CommentListResponse> missed = replayFrom == null
+                ? List.of()
+                : this.commentService.listComments(bookId, replayFrom, FEED_REPLAY_SIZE).getComments();
+        SseEmitter emitter = this.commentFeedHub.subscribe(bookId, missed);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "10")
+                    .build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * IllegalArgumentException 예외 처리 핸들러
+     * @param e IllegalArgumentException 예외
+     * @return 400 응답
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> illegalArgumentExceptionHandler(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
     }
 
 }
@@ -0,0 +1,79 @@
+package com.spring.onedayboot.book.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * 조건부 요청(If-None-Match, If-Modified-Since) 을 판단하기 위한 ETag 와 마지막 수정 시각.
+ * 책 조회 화면은 캐시된 화면 데이터로, 책 목록 화면은 목록 조건에 맞는 책의 변경 여부를 나타내는 컬럼의 집계로 만든다.
+ */
+@Getter
+public class BookCacheValidator {
+
+    private final String eTag;
+    private final LocalDateTime lastModified;
+
+    /**
+     * 책 한 권의 검증 값을 만든다. 책 조회 쿼리의 결과로 만들므로 화면에 보이는 내용과 항상 일치한다.
+     * @param bookId 책 id
+     * @param version 책 버전 (수정될 때마다 증가)
+     * @param lastCommentId 조회된 마지막 코멘트 id (첫 페이지가 바뀌면 달라진다)
+     * @param lastModified 등록일, 수정일, 조회된 코멘트 등록일 중 가장 최근 시각
+     */
+    public BookCacheValidator(Long bookId, Long version, Long lastCommentId, LocalDateTime lastModified) {
+        this.eTag = "book-" + bookId + "-" + version + "-" + (lastCommentId == null ? 0 : lastCommentId);
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * 책 목록의 검증 값을 만든다. JPQL 생성자 표현식에서 사용한다.
+     * 목록 조건에 맞는 책이 등록, 수정, 삭제되거나 코멘트가 등록되면 값이 달라진다.
+     * 값은 DB 의 데이터로만 정해지므로 재시작하거나 인스턴스가 달라도 같은 목록이면 같은 ETag 가 된다.
+     * @param count 책 수
+     * @param createdAt 가장 최근 등록일
+     * @param modifiedAt 가장 최근 수정일
+     * @param lastCommentedAt 가장 최근 코멘트 등록일
+     */
+    public BookCacheValidator(Long count, LocalDateTime createdAt,
+                              LocalDateTime modifiedAt, LocalDateTime lastCommentedAt) {
+        this.eTag = "books-" + count + "-" + epochMilli(createdAt) + "-" + epochMilli(modifiedAt) + "-" + epochMilli(lastCommentedAt);
+        this.lastModified = latest(createdAt, modifiedAt, lastCommentedAt);
+    }
+
+    private BookCacheValidator(String eTag, LocalDateTime lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * 화면에 함께 보이는 다른 값을 ETag 에 덧붙인 검증 값을 만든다.
+     * @param suffix 덧붙일 값
+     * @return 새 검증 값
+     */
+    public BookCacheValidator withETagSuffix(String suffix) {
+        return new BookCacheValidator(this.eTag + "-" + suffix, this.lastModified);
+    }
+
+    /**
+     * Last-Modified 헤더에 사용할 마지막 수정 시각을 반환한다.
+     * @return epoch 밀리초 (알 수 없으면 -1)
+     */
+    public long getLastModifiedMillis() {
+        return epochMilli(this.lastModified);
+    }
+
+    private static LocalDateTime latest(LocalDateTime... values) {
+        return Stream.of(values)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+
+    private static long epochMilli(LocalDateTime value) {
+        return value == null ? -1 : value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
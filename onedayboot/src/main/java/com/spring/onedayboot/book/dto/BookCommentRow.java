@@ -0,0 +1,34 @@
+package com.spring.onedayboot.book.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 책 조회 화면을 한 번의 쿼리로 만들기 위한 책과 코멘트의 조인 결과 한 행.
+ * JPQL 생성자 표현식으로 생성하며, 코멘트가 없는 책은 코멘트 컬럼이 비어 있는 한 행만 조회된다.
+ */
+@Getter
+@AllArgsConstructor
+public class BookCommentRow {
+
+    private final Long bookId;
+    private final String title;
+    private final Long price;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime modifiedAt;
+    private final Long version;
+    private final Long commentId;
+    private final String comment;
+    private final Integer page;
+    private final LocalDateTime commentCreatedAt;
+
+    /**
+     * 코멘트 컬럼을 CommentListResponse 객체로 변환한다.
+     * @return 변환된 CommentListResponse 객체
+     */
+    public CommentListResponse toComment() {
+        return CommentListResponse.of(this.commentId, this.comment, this.page, this.commentCreatedAt);
+    }
+}
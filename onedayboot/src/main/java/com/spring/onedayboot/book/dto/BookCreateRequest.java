@@ -3,6 +3,7 @@ package com.spring.onedayboot.book.dto;
 import com.spring.onedayboot.book.entity.Book;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,6 +14,7 @@ public class BookCreateRequest {
     @NotBlank
     private String title;
 
+    @NotNull
     @Min(100)
     private Long price;
 
@@ -0,0 +1,70 @@
+package com.spring.onedayboot.book.dto;
+
+import com.spring.onedayboot.book.entity.Book;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 책 목록 키셋 페이지네이션에 사용하는 커서.
+ * createdAt 과 동일한 값을 구분하기 위해 bookId 를 함께 담는다.
+ */
+public final class BookCursor {
+
+    private static final String DELIMITER = "|";
+
+    private BookCursor() {
+    }
+
+    /**
+     * 마지막으로 조회된 책의 위치를 불투명한 커서 문자열로 변환한다.
+     * @param book 마지막으로 조회된 Book 객체
+     * @return URL 에 사용할 수 있는 커서 문자열
+     */
+    public static String encode(Book book) {
+        return encode(book.getCreatedAt(), book.getBookId());
+    }
+
+    /**
+     * 마지막으로 조회된 책의 위치를 불투명한 커서 문자열로 변환한다.
+     * @param view 마지막으로 조회된 책 프로젝션
+     * @return URL 에 사용할 수 있는 커서 문자열
+     */
+    public static String encode(BookListView view) {
+        return encode(view.getCreatedAt(), view.getBookId());
+    }
+
+    private static String encode(LocalDateTime createdAt, Long bookId) {
+        String raw = createdAt + DELIMITER + bookId;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열을 ScrollPosition 객체로 변환한다.
+     * @param cursor 커서 문자열 (비어있으면 첫 페이지)
+     * @return 변환된 ScrollPosition 객체
+     * @throws IllegalArgumentException 커서 형식이 올바르지 않을 때
+     */
+    public static ScrollPosition decode(String cursor) throws IllegalArgumentException {
+        if (cursor == null || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("createdAt", LocalDateTime.parse(raw.substring(0, index)));
+            keys.put("bookId", Long.parseLong(raw.substring(index + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+}
@@ -13,6 +13,7 @@ public class BookEditResponse {
     private String title;
     private Long price;
     private LocalDateTime createdAt;
+    private Long version;
 
     /**
      * Book 객체를 BookEditResponse 객체로 변환한다.
@@ -25,6 +26,7 @@ public class BookEditResponse {
                 .title(book.getTitle())
                 .price(book.getPrice())
                 .createdAt(book.getCreatedAt())
+                .version(book.getVersion())
                 .build();
     }
 }
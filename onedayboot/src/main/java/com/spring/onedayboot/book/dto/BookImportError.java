@@ -0,0 +1,11 @@
+package com.spring.onedayboot.book.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookImportError {
+    private long line;
+    private String message;
+}
@@ -0,0 +1,15 @@
+package com.spring.onedayboot.book.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Builder
+@Getter
+public class BookImportResponse {
+    private long total;
+    private long imported;
+    private long failed;
+    private List<BookImportError> errors;
+}
@@ -0,0 +1,18 @@
+package com.spring.onedayboot.book.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 책 검색 색인을 만들 때 사용하는 인터페이스 프로젝션.
+ * 색인에 넣는 컬럼만 조회하고 엔티티는 영속성 컨텍스트에 올리지 않는다.
+ */
+public interface BookIndexView {
+
+    Long getBookId();
+
+    String getTitle();
+
+    Long getPrice();
+
+    LocalDateTime getCreatedAt();
+}
@@ -1,15 +1,22 @@
 package com.spring.onedayboot.book.dto;
 
 import com.spring.onedayboot.book.entity.Book;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
+/**
+ * 책 목록 항목.
+ * 목록 조회 시 JPQL 생성자 표현식으로 필요한 컬럼만 담아 바로 생성한다.
+ */
 @Builder
 @Getter
+@AllArgsConstructor
 public class BookListResponse {
 
-    private Long bookId;
-    private String title;
+    private final Long bookId;
+    private final String title;
+    private final Long commentCount;
 
     /**
      * Book 객체를 BookListResponse 객체로 변환한다.
@@ -20,6 +27,20 @@ public class BookListResponse {
         return BookListResponse.builder()
                 .bookId(book.getBookId())
                 .title(book.getTitle())
+                .commentCount(book.getCommentCount())
+                .build();
+    }
+
+    /**
+     * BookListView 프로젝션을 BookListResponse 객체로 변환한다.
+     * @param view 변환할 BookListView 프로젝션
+     * @return 변환된 BookListResponse 객체
+     */
+    public static BookListResponse fromView(BookListView view) {
+        return BookListResponse.builder()
+                .bookId(view.getBookId())
+                .title(view.getTitle())
+                .commentCount(view.getCommentCount())
                 .build();
     }
 }
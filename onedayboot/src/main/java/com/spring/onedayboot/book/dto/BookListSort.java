@@ -0,0 +1,18 @@
+package com.spring.onedayboot.book.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 책 목록 정렬 기준.
+ */
+@Getter
+@AllArgsConstructor
+public enum BookListSort {
+    /** 등록일 순 */
+    LATEST("createdAt"),
+    /** 코멘트 수 순 */
+    POPULARITY("commentCount");
+
+    private final String property;
+}
@@ -0,0 +1,18 @@
+package com.spring.onedayboot.book.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 책 목록 키셋 조회에 사용하는 인터페이스 프로젝션.
+ * 목록에 표시할 컬럼과 커서에 필요한 컬럼만 조회한다.
+ */
+public interface BookListView {
+
+    Long getBookId();
+
+    String getTitle();
+
+    Long getCommentCount();
+
+    LocalDateTime getCreatedAt();
+}
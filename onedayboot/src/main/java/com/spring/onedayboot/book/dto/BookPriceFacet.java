@@ -0,0 +1,19 @@
+package com.spring.onedayboot.book.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 책 목록의 가격대별 책 수.
+ * 가격대는 minPrice 이상 maxPrice 미만이며, 첫 가격대는 minPrice 가, 마지막 가격대는 maxPrice 가 비어 있다.
+ */
+@Builder
+@Getter
+@AllArgsConstructor
+public class BookPriceFacet {
+
+    private final Long minPrice;
+    private final Long maxPrice;
+    private final long count;
+}
@@ -1,11 +1,12 @@
 package com.spring.onedayboot.book.dto;
 
-import com.spring.onedayboot.book.entity.Book;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @Builder
 @Getter
@@ -15,19 +16,42 @@ public class BookReadResponse {
     private Long price;
     private LocalDateTime createdAt;
     private List<CommentListResponse> commentList;
+    private Long nextCommentCursor;
+    // 조건부 요청 처리에만 사용하고 API 응답에는 포함하지 않는다
+    @JsonIgnore
+    private BookCacheValidator cacheValidator;
 
     /**
-     * Book 객체를 BookReadResponse 객체로 변환한다.
-     * @param book 변환할 Book 객체
+     * 책과 코멘트의 조인 결과를 BookReadResponse 객체로 변환한다.
+     * 다음 페이지가 있는지 확인하기 위해 pageSize 보다 한 행 더 조회한 결과를 받는다.
+     * 검증 값도 같은 결과로 만들어, 캐시된 응답만으로 조건부 요청을 처리할 수 있게 한다.
+     * @param rows 코멘트 id 순으로 정렬된 조인 결과 (비어있지 않아야 한다)
+     * @param pageSize 첫 페이지 코멘트 수
      * @return 변환된 BookReadResponse 객체
      */
-    public static BookReadResponse fromBook(Book book) {
+    public static BookReadResponse fromRows(List<BookCommentRow> rows, int pageSize) {
+        BookCommentRow book = rows.get(0);
+        List<CommentListResponse> comments = rows.stream()
+                .filter(row -> row.getCommentId() != null)
+                .limit(pageSize)
+                .map(BookCommentRow::toComment)
+                .toList();
+        boolean hasNext = rows.size() > pageSize;
+        // 더 조회한 한 행도 다음 페이지 여부를 바꾸므로 검증 값에 포함
+        BookCommentRow last = rows.get(rows.size() - 1);
+        LocalDateTime lastModified = rows.stream()
+                .map(BookCommentRow::getCommentCreatedAt)
+                .filter(Objects::nonNull)
+                .reduce(book.getModifiedAt() != null ? book.getModifiedAt() : book.getCreatedAt(),
+                        (a, b) -> a == null || b.isAfter(a) ? b : a);
         return BookReadResponse.builder()
                 .bookId(book.getBookId())
                 .title(book.getTitle())
                 .price(book.getPrice())
                 .createdAt(book.getCreatedAt())
-                .commentList(book.getCommentList().stream().map(comment -> CommentListResponse.fromComment(comment)).toList())
+                .commentList(comments)
+                .nextCommentCursor(hasNext ? comments.get(comments.size() - 1).getCommentId() : null)
+                .cacheValidator(new BookCacheValidator(book.getBookId(), book.getVersion(), last.getCommentId(), lastModified))
                 .build();
     }
 }
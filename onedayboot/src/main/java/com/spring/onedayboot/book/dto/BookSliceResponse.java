@@ -0,0 +1,14 @@
+package com.spring.onedayboot.book.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Builder
+@Getter
+public class BookSliceResponse {
+    private List<BookListResponse> books;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -1,8 +1,8 @@
 package com.spring.onedayboot.book.dto;
 
-import com.spring.onedayboot.book.entity.Book;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Getter;
 import lombok.NonNull;
@@ -24,18 +24,11 @@ public class BookUpdateRequest {
     @Min(100)
     private Long price;
 
-    /**
-     * Book 객체의 필드를 업데이트한 새 Book 객체를 반환한다.
-     * @param book 업데이트할 Book 객체
-     * return 업데이트된 새 Book 객체
-     */
-    public Book update(Book book) {
-        return book.toBuilder()
-                .bookId(book.getBookId())
-                .title(this.title)
-                .price(this.price)
-                .createdAt(book.getCreatedAt())
-                .build();
-    }
+    @NonNull
+    @NotNull
+    private Long version;
+
+    // 수정 화면을 그릴 때의 가격, 버전이 일치해 수정되면 수정 전 가격과 같다 (가격대별 책 수에 사용)
+    private Long previousPrice;
 
 }
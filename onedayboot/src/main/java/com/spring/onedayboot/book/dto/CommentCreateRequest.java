@@ -2,7 +2,9 @@ package com.spring.onedayboot.book.dto;
 
 import com.spring.onedayboot.book.entity.Book;
 import com.spring.onedayboot.book.entity.Comment;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -11,12 +13,16 @@ import lombok.Setter;
 @Setter
 public class CommentCreateRequest {
     @NonNull
+    @NotNull
     @Positive
     private Long bookId;
 
     @NonNull
+    @NotNull
+    @Size(max = 255)
     private String comment;
 
+    @NotNull
     private Integer page;
 
     public Comment toEntity(Book book) {
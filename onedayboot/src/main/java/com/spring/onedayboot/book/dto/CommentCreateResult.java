@@ -0,0 +1,65 @@
+package com.spring.onedayboot.book.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 코멘트 등록 요청의 처리 결과.
+ * 화면과 API 가 같은 응답 코드를 쓰도록 응답으로 바꾸는 방법도 함께 둔다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CommentCreateResult {
+
+    private final HttpStatus status;
+    private final CommentReadResponse comment;
+    private final long retryAfter;
+
+    /**
+     * 코멘트가 저장되었다.
+     * @param comment 저장된 코멘트
+     * @return 201 결과
+     */
+    public static CommentCreateResult created(CommentReadResponse comment) {
+        return new CommentCreateResult(HttpStatus.CREATED, comment, 0);
+    }
+
+    /**
+     * 쓰기 지연 모드에서 코멘트를 큐에 넣었다. 코멘트 id 는 아직 없다.
+     * @param comment 큐에 넣은 코멘트
+     * @return 202 결과
+     */
+    public static CommentCreateResult accepted(CommentReadResponse comment) {
+        return new CommentCreateResult(HttpStatus.ACCEPTED, comment, 0);
+    }
+
+    /**
+     * 빈도 제한에 걸렸거나 큐가 가득 차 코멘트를 받지 않았다.
+     * @param retryAfter 다시 시도할 때까지 기다릴 시간 (초)
+     * @return 429 결과
+     */
+    public static CommentCreateResult rejected(long retryAfter) {
+        return new CommentCreateResult(HttpStatus.TOO_MANY_REQUESTS, null, retryAfter);
+    }
+
+    public boolean isCreated() {
+        return this.status == HttpStatus.CREATED;
+    }
+
+    /**
+     * 결과를 응답으로 바꾼다. 429 에는 Retry-After 를 붙인다.
+     * @return 응답
+     */
+    public ResponseEntity<CommentReadResponse> toResponseEntity() {
+        if (this.status == HttpStatus.TOO_MANY_REQUESTS) {
+            return ResponseEntity.status(this.status)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(this.retryAfter))
+                    .build();
+        }
+        return ResponseEntity.status(this.status).body(this.comment);
+    }
+}
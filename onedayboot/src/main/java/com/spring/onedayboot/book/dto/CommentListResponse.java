@@ -21,12 +21,24 @@ public class CommentListResponse {
      * @return 변환된 CommentListResponse 객체
      */
     public static CommentListResponse fromComment(Comment comment) {
+        return of(comment.getCommentId(), comment.getComment(), comment.getPage(), comment.getCreatedAt());
+    }
+
+    /**
+     * 코멘트 컬럼 값으로 CommentListResponse 객체를 만든다. 엔티티 없이 조회한 코멘트도 같은 형식으로 표시된다.
+     * @param commentId 코멘트 id
+     * @param comment 코멘트 내용
+     * @param page 페이지
+     * @param createdAt 등록일
+     * @return 생성된 CommentListResponse 객체
+     */
+    public static CommentListResponse of(Long commentId, String comment, Integer page, LocalDateTime createdAt) {
         return CommentListResponse.builder()
-                .commentId(comment.getCommentId())
-                .comment(comment.getComment())
-                .page(comment.getPage())
-                .createdAt(comment.getCreatedAt())
-                .displayComment(comment.getPage() == null ? "" : "(p." + comment.getPage() + ".) " + comment.getComment())
+                .commentId(commentId)
+                .comment(comment)
+                .page(page)
+                .createdAt(createdAt)
+                .displayComment(page == null ? "" : "(p." + page + ".) " + comment)
                 .build();
     }
 }
\ No newline at end of file
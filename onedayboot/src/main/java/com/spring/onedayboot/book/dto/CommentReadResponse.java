@@ -26,4 +26,17 @@ public class CommentReadResponse {
                 .page(comment.getPage())
                 .build();
     }
+
+    /**
+     * 아직 저장되지 않은 코멘트 등록 요청을 CommentReadResponse 객체로 변환한다. commentId 는 비어 있다.
+     * @param request 변환할 CommentCreateRequest 객체
+     * @return 변환된 CommentReadResponse 객체
+     */
+    public static CommentReadResponse fromRequest(CommentCreateRequest request) {
+        return CommentReadResponse.builder()
+                .bookId(request.getBookId())
+                .comment(request.getComment())
+                .page(request.getPage())
+                .build();
+    }
 }
@@ -0,0 +1,14 @@
+package com.spring.onedayboot.book.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Builder
+@Getter
+public class CommentSliceResponse {
+    private List<CommentListResponse> comments;
+    private Long nextCursor;
+    private boolean hasNext;
+}
@@ -4,12 +4,24 @@ import com.spring.onedayboot.common.entity.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "book")
+@Table(name = "book", indexes = {
+        @Index(name = "idx_book_created_at", columnList = "created_at, book_id"),
+        @Index(name = "idx_book_comment_count", columnList = "comment_count, book_id"),
+        @Index(name = "idx_book_price", columnList = "price, book_id"),
+        // H2 는 인덱스를 역방향으로 읽지 못하므로 H2 마이그레이션에만 둔 내림차순 목록용 인덱스
+        @Index(name = "idx_book_created_at_desc", columnList = "created_at desc, book_id desc"),
+        @Index(name = "idx_book_comment_count_desc", columnList = "comment_count desc, book_id desc")
+})
+// 소프트 삭제된 책은 모든 엔티티 조회에서 제외
+@SQLRestriction("deleted_at is null")
 @Getter
 @SuperBuilder(toBuilder = true)
 @AllArgsConstructor
@@ -36,4 +48,17 @@ public class Book extends BaseEntity {
     @ToString.Include
     private Long price;
 
+    // 코멘트 등록 시 UPDATE 문으로만 증가시키므로 엔티티 저장 시에는 쓰지 않는다
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long commentCount = 0L;
+
+    @Column(name = "last_commented_at", insertable = false, updatable = false)
+    private LocalDateTime lastCommentedAt;
+
+    // 소프트 삭제 시각, 삭제된 책은 정리 작업에서 코멘트와 함께 물리 삭제한다
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
 }
@@ -6,7 +6,9 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "comment")
+@Table(name = "comment", indexes = {
+        @Index(name = "idx_comment_book_id", columnList = "book_id, comment_id")
+})
 @Getter
 @SuperBuilder(toBuilder = true)
 @AllArgsConstructor
@@ -22,7 +24,7 @@ public class Comment extends BaseEntity {
     private Long commentId;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "book_id", columnDefinition = "BIGINT")
+    @JoinColumn(name = "book_id", columnDefinition = "BIGINT", foreignKey = @ForeignKey(name = "fk_comment_book"))
     private Book book;
 
     @Column(name = "comment", columnDefinition = "VARCHAR(255)", nullable = false)
@@ -0,0 +1,68 @@
+package com.spring.onedayboot.book.event;
+
+import com.spring.onedayboot.book.entity.Book;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 책이 등록, 수정, 삭제되었을 때 발행되는 이벤트.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookChangedEvent {
+
+    private Long bookId;
+    private String title;
+    private LocalDateTime createdAt;
+    // 변경 후 가격 (삭제되었으면 비어 있다)
+    private Long price;
+    // 변경 전 가격 (등록되었으면 비어 있다)
+    private Long previousPrice;
+    private boolean deleted;
+
+    /**
+     * 등록된 책에 대한 이벤트를 생성한다.
+     * @param book 등록된 Book 객체
+     * @return 생성된 이벤트
+     */
+    public static BookChangedEvent saved(Book book) {
+        return new BookChangedEvent(book.getBookId(), book.getTitle(), book.getCreatedAt(), book.getPrice(), null, false);
+    }
+
+    /**
+     * 조회 없이 수정된 책에 대한 이벤트를 생성한다. 등록일은 알 수 없으므로 비어 있다.
+     * @param bookId 수정된 책의 id
+     * @param title 수정된 책 제목
+     * @param price 수정된 가격
+     * @param previousPrice 수정 전 가격
+     * @return 생성된 이벤트
+     */
+    public static BookChangedEvent updated(Long bookId, String title, Long price, Long previousPrice) {
+        return new BookChangedEvent(bookId, title, null, price, previousPrice, false);
+    }
+
+    /**
+     * 일괄 등록된 책에 대한 이벤트를 생성한다.
+     * @param bookId 등록된 책의 id
+     * @param title 등록된 책 제목
+     * @param createdAt 등록일
+     * @param price 가격
+     * @return 생성된 이벤트
+     */
+    public static BookChangedEvent imported(Long bookId, String title, LocalDateTime createdAt, Long price) {
+        return new BookChangedEvent(bookId, title, createdAt, price, null, false);
+    }
+
+    /**
+     * 삭제된 책에 대한 이벤트를 생성한다.
+     * @param bookId 삭제된 책의 id
+     * @param previousPrice 삭제된 책의 가격
+     * @return 생성된 이벤트
+     */
+    public static BookChangedEvent deleted(Long bookId, Long previousPrice) {
+        return new BookChangedEvent(bookId, null, null, null, previousPrice, true);
+    }
+}
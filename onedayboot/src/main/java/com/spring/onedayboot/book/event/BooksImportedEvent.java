@@ -0,0 +1,16 @@
+package com.spring.onedayboot.book.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 책이 일괄 등록되었을 때 청크 단위로 발행되는 이벤트.
+ */
+@Getter
+@AllArgsConstructor
+public class BooksImportedEvent {
+
+    private List<BookChangedEvent> books;
+}
@@ -0,0 +1,16 @@
+package com.spring.onedayboot.book.event;
+
+import com.spring.onedayboot.book.dto.CommentListResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 코멘트가 등록되었을 때 발행되는 이벤트.
+ */
+@Getter
+@AllArgsConstructor
+public class CommentCreatedEvent {
+
+    private Long bookId;
+    private CommentListResponse comment;
+}
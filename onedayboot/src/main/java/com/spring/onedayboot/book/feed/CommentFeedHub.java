@@ -0,0 +1,216 @@
+package com.spring.onedayboot.book.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.onedayboot.book.dto.CommentListResponse;
+import com.spring.onedayboot.book.event.CommentCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 책 별로 새 코멘트를 구독자(SSE 연결)에게 전달한다.
+ * <p>
+ * 코멘트는 한 번만 JSON 으로 변환해 구독자마다 크기가 제한된 버퍼에 넣고, 전송 스레드가 버퍼를 비우며 전송한다.
+ * 버퍼가 가득 찰 만큼 느린 구독자는 연결을 끊는다. 브라우저는 Last-Event-ID 로 다시 연결하므로 놓친 코멘트는 DB 에서 다시 받는다.
+ * 주기적으로 heartbeat 를 보내 프록시가 연결을 끊지 않도록 하고, 전송에 실패한 연결을 정리한다.
+ * 구독 중인 연결은 DB 를 조회하지 않고 스레드도 점유하지 않는다.
+ * 다만 연결은 하나씩 차지하므로 server.tomcat.max-connections 는 comment.feed.max-subscribers 보다 충분히 크게 두어
+ * 구독자가 가득 차도 일반 요청이 연결을 얻을 수 있도록 한다.
+ */
+@Slf4j
+@Component
+public class CommentFeedHub {
+
+    private static final FeedEvent HEARTBEAT = new FeedEvent(null, null);
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final ExecutorService sender;
+    private final Map<Long, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter droppedCounter;
+
+    public CommentFeedHub(ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${comment.feed.timeout:30m}") Duration timeout,
+                          @Value("${comment.feed.buffer-size:32}") int bufferSize,
+                          @Value("${comment.feed.max-subscribers:50000}") int maxSubscribers,
+                          @Value("${comment.feed.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "comment-feed-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.droppedCounter = Counter.builder("comment.feed.dropped")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("comment.feed.subscribers", this.subscriberCount, AtomicInteger::get)
+                .description("Open comment feed connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 책의 새 코멘트를 구독한다.
+     * @param bookId 구독할 책의 id
+     * @param missed 다시 연결하기 전까지 놓친 코멘트 (구독 직후 먼저 전송)
+     * @return SSE 연결, 구독자 수가 최대치에 도달했으면 null
+     */
+    public SseEmitter subscribe(Long bookId, List<CommentListResponse> missed) {
+        if (this.subscriberCount.incrementAndGet() > this.maxSubscribers) {
+            this.subscriberCount.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(this.timeoutMillis);
+        Subscriber subscriber = new Subscriber(bookId, emitter, new ArrayBlockingQueue<>(this.bufferSize + missed.size()));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        for (CommentListResponse comment : missed) {
+            subscriber.buffer.add(toEvent(comment));
+        }
+        this.topics.compute(bookId, (key, subscribers) -> {
+            Set<Subscriber> set = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+            set.add(subscriber);
+            return set;
+        });
+        // 놓친 코멘트가 없더라도 연결 직후 응답 헤더를 보내도록 heartbeat 를 먼저 전송
+        offer(subscriber, HEARTBEAT);
+        return emitter;
+    }
+
+    /**
+     * 코멘트 등록 트랜잭션이 커밋되면 책의 구독자에게 전달한다.
+     * @param event 코멘트 등록 이벤트
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentCreated(CommentCreatedEvent event) {
+        Set<Subscriber> subscribers = this.topics.get(event.getBookId());
+        if (subscribers == null) {
+            return;
+        }
+        FeedEvent feedEvent = toEvent(event.getComment());
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, feedEvent);
+        }
+    }
+
+    /**
+     * 모든 구독자에게 heartbeat 를 보낸다. 끊어진 연결은 전송에 실패하면서 정리된다.
+     */
+    @Scheduled(fixedDelayString = "${comment.feed.heartbeat-interval:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> subscribers : this.topics.values()) {
+            for (Subscriber subscriber : subscribers) {
+                offer(subscriber, HEARTBEAT);
+            }
+        }
+    }
+
+    /**
+     * 종료할 때 모든 연결을 닫아 graceful shutdown 이 SSE 연결을 기다리지 않도록 한다.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void close() {
+        this.topics.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        this.sender.shutdown();
+    }
+
+    private void offer(Subscriber subscriber, FeedEvent event) {
+        if (!subscriber.buffer.offer(event)) {
+            this.droppedCounter.increment();
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            this.sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            FeedEvent event;
+            while ((event = subscriber.buffer.poll()) != null) {
+                try {
+                    subscriber.emitter.send(event == HEARTBEAT
+                            ? SseEmitter.event().comment("")
+                            : SseEmitter.event().id(event.id()).name("comment").data(event.json(), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    // 끊어진 연결 (완료된 연결에 보내면 IllegalStateException)
+                    unsubscribe(subscriber);
+                    subscriber.buffer.clear();
+                    subscriber.emitter.completeWithError(e);
+                    return;
+                }
+            }
+            subscriber.scheduled.set(false);
+            // 전송 표시를 해제하는 사이에 들어온 이벤트가 있으면 이어서 전송
+        } while (!subscriber.buffer.isEmpty() && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        this.subscriberCount.decrementAndGet();
+        this.topics.computeIfPresent(subscriber.bookId, (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private FeedEvent toEvent(CommentListResponse comment) {
+        try {
+            return new FeedEvent(String.valueOf(comment.getCommentId()), this.objectMapper.writeValueAsString(comment));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record FeedEvent(String id, String json) {
+    }
+
+    private static class Subscriber {
+        private final Long bookId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<FeedEvent> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long bookId, SseEmitter emitter, BlockingQueue<FeedEvent> buffer) {
+            this.bookId = bookId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -1,10 +1,213 @@
 package com.spring.onedayboot.book.repository;
 
+import com.spring.onedayboot.book.dto.BookCacheValidator;
+import com.spring.onedayboot.book.dto.BookCommentRow;
+import com.spring.onedayboot.book.dto.BookIndexView;
+import com.spring.onedayboot.book.dto.BookListResponse;
+import com.spring.onedayboot.book.dto.BookListView;
 import com.spring.onedayboot.book.entity.Book;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookRepository extends JpaRepository<Book, Long>{
-    Page<Book> findByTitleContaining(String title, Pageable pageable);
+    /**
+     * 키셋(seek) 방식으로 검색 색인에 넣을 컬럼만 조회한다. count 쿼리를 실행하지 않는다.
+     * @param position 이전 페이지의 마지막 위치
+     * @param limit 조회할 개수
+     * @param sort 정렬 조건 (유일한 값을 가진 컬럼이 포함되어야 한다)
+     * @return 조회된 책 목록
+     */
+    Window<BookIndexView> findIndexBy(ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * 책 목록에 필요한 컬럼만 DTO 로 조회한다. 엔티티를 영속성 컨텍스트에 올리지 않고 count 쿼리도 실행하지 않는다.
+     * @param pageable 페이지 정보와 정렬 조건
+     * @return 조회된 책 목록
+     */
+    @Query("select new com.spring.onedayboot.book.dto.BookListResponse(b.bookId, b.title, b.commentCount) from Book b")
+    List<BookListResponse> findListBy(Pageable pageable);
+
+    /**
+     * 검색 색인에서 찾은 책의 목록 컬럼을 DTO 로 조회한다. 정렬은 호출한 쪽에서 검색 순서대로 맞춘다.
+     * @param bookIds 조회할 책의 id 목록
+     * @return 조회된 책 목록 (삭제된 책은 제외)
+     */
+    @Query("select new com.spring.onedayboot.book.dto.BookListResponse(b.bookId, b.title, b.commentCount) from Book b " +
+            "where b.bookId in :bookIds")
+    List<BookListResponse> findListByBookIdIn(Collection<Long> bookIds);
+
+    /**
+     * 제목이 포함되고 가격대에 속한 책 목록에 필요한 컬럼만 조회한다. 검색 색인을 만들기 전에만 사용한다.
+     * @param title 검색할 책 제목
+     * @param minPrice 최소 가격 (포함)
+     * @param maxPrice 최대 가격 (제외)
+     * @param pageable 페이지 정보와 정렬 조건
+     * @return 조회된 책 목록
+     */
+    List<BookListView> findListByTitleContainingAndPriceGreaterThanEqualAndPriceLessThan(String title, long minPrice, long maxPrice,
+                                                                                         Pageable pageable);
+
+    /**
+     * 가격대에 속한 책 목록에 필요한 컬럼만 DTO 로 조회한다. (price, book_id) 인덱스로 범위를 찾고 count 쿼리는 실행하지 않는다.
+     * @param minPrice 최소 가격 (포함)
+     * @param maxPrice 최대 가격 (제외)
+     * @param pageable 페이지 정보와 정렬 조건
+     * @return 조회된 책 목록
+     */
+    @Query("select new com.spring.onedayboot.book.dto.BookListResponse(b.bookId, b.title, b.commentCount) from Book b " +
+            "where b.price >= :minPrice and b.price < :maxPrice")
+    List<BookListResponse> findListByPriceRange(long minPrice, long maxPrice, Pageable pageable);
+
+    /**
+     * 키셋(seek) 방식으로 책 목록에 필요한 컬럼만 조회한다. count 쿼리를 실행하지 않는다.
+     * @param position 이전 페이지의 마지막 위치
+     * @param limit 조회할 개수
+     * @param sort 정렬 조건 (유일한 값을 가진 컬럼이 포함되어야 한다)
+     * @return 조회된 책 목록
+     */
+    Window<BookListView> findListBy(ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * 키셋(seek) 방식으로 제목이 포함된 책 목록에 필요한 컬럼만 조회한다. count 쿼리를 실행하지 않는다.
+     * @param title 검색할 책 제목
+     * @param position 이전 페이지의 마지막 위치
+     * @param limit 조회할 개수
+     * @param sort 정렬 조건 (유일한 값을 가진 컬럼이 포함되어야 한다)
+     * @return 조회된 책 목록
+     */
+    Window<BookListView> findListByTitleContaining(String title, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * 키셋(seek) 방식으로 가격대에 속한 책 목록에 필요한 컬럼만 조회한다. count 쿼리를 실행하지 않는다.
+     * @param minPrice 최소 가격 (포함)
+     * @param maxPrice 최대 가격 (제외)
+     * @param position 이전 페이지의 마지막 위치
+     * @param limit 조회할 개수
+     * @param sort 정렬 조건 (유일한 값을 가진 컬럼이 포함되어야 한다)
+     * @return 조회된 책 목록
+     */
+    Window<BookListView> findListByPriceGreaterThanEqualAndPriceLessThan(long minPrice, long maxPrice,
+                                                                         ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * 키셋(seek) 방식으로 제목이 포함되고 가격대에 속한 책 목록에 필요한 컬럼만 조회한다. count 쿼리를 실행하지 않는다.
+     * @param title 검색할 책 제목
+     * @param minPrice 최소 가격 (포함)
+     * @param maxPrice 최대 가격 (제외)
+     * @param position 이전 페이지의 마지막 위치
+     * @param limit 조회할 개수
+     * @param sort 정렬 조건 (유일한 값을 가진 컬럼이 포함되어야 한다)
+     * @return 조회된 책 목록
+     */
+    Window<BookListView> findListByTitleContainingAndPriceGreaterThanEqualAndPriceLessThan(String title, long minPrice, long maxPrice,
+                                                                                           ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * 책과 코멘트 첫 페이지를 한 번의 조인 쿼리로 조회한다. (book_id, comment_id) 인덱스 순서대로 limit 건만 읽는다.
+     * @param bookId 조회할 책의 id
+     * @param limit 조회할 행 수 (코멘트 페이지 크기 + 1)
+     * @return 코멘트 id 순으로 정렬된 조인 결과 (책이 없으면 비어 있다)
+     */
+    @Query("select new com.spring.onedayboot.book.dto.BookCommentRow(b.bookId, b.title, b.price, b.createdAt, b.modifiedAt, b.version, " +
+            "c.commentId, c.comment, c.page, c.createdAt) " +
+            "from Book b left join b.commentList c where b.bookId = :bookId order by c.commentId")
+    List<BookCommentRow> findWithFirstCommentsByBookId(Long bookId, Limit limit);
+
+    /**
+     * 모든 책을 id 순서로 스트리밍 조회한다. 트랜잭션 안에서 사용하고 사용 후 닫아야 한다.
+     * @return 책 스트림
+     */
+    @Query("select b from Book b order by b.bookId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Book> streamAllBy();
+
+    /**
+     * 제목과 가격대로 걸러낸 책을 id 순서로 limit 권까지 스트리밍 조회한다. 트랜잭션 안에서 사용하고 사용 후 닫아야 한다.
+     * @param title 검색할 책 제목 (빈 문자열이면 모든 책)
+     * @param minPrice 최소 가격 (포함)
+     * @param maxPrice 최대 가격 (제외)
+     * @param limit 조회할 최대 책 수
+     * @return 책 스트림
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Book> streamByTitleContainingAndPriceGreaterThanEqualAndPriceLessThanOrderByBookId(
+            String title, long minPrice, long maxPrice, Limit limit);
+
+    /**
+     * 코멘트 수를 읽지 않고 한 번의 UPDATE 문으로 증가시킨다.
+     * @param bookId 코멘트가 등록된 책의 id
+     * @param delta 증가시킬 코멘트 수
+     * @param lastCommentedAt 마지막 코멘트 등록일 (비어 있으면 기존 값을 유지)
+     * @return 수정된 행 수
+     */
+    @Modifying
+    @Query("update Book b set b.commentCount = b.commentCount + :delta, " +
+            "b.lastCommentedAt = coalesce(:lastCommentedAt, b.lastCommentedAt) where b.bookId = :bookId")
+    int incrementCommentCount(Long bookId, long delta, LocalDateTime lastCommentedAt);
+
+    /**
+     * 버전이 일치할 때만 책 정보를 수정한다. 조회 없이 한 번의 UPDATE 문으로 실행된다.
+     * @param bookId 수정할 책의 id
+     * @param version 수정 화면에서 읽은 버전
+     * @param title 수정할 제목
+     * @param price 수정할 가격
+     * @param modifiedAt 수정일
+     * @return 수정된 행 수 (버전이 다르거나 책이 없으면 0)
+     */
+    @Modifying
+    @Query("update Book b set b.title = :title, b.price = :price, b.modifiedAt = :modifiedAt, b.version = b.version + 1 " +
+            "where b.bookId = :bookId and b.version = :version and b.deletedAt is null")
+    int updateIfVersionMatches(Long bookId, Long version, String title, Long price, LocalDateTime modifiedAt);
+
+    /**
+     * 책을 소프트 삭제한다. 조회 없이 한 번의 UPDATE 문으로 실행되며, 책과 코멘트는 정리 작업에서 물리 삭제된다.
+     * @param bookId 삭제할 책의 id
+     * @param deletedAt 삭제일
+     * @return 수정된 행 수 (책이 없거나 이미 삭제되었으면 0)
+     */
+    @Modifying
+    @Query("update Book b set b.deletedAt = :deletedAt, b.modifiedAt = :deletedAt, b.version = b.version + 1 " +
+            "where b.bookId = :bookId and b.deletedAt is null")
+    int softDelete(Long bookId, LocalDateTime deletedAt);
+
+    /**
+     * 삭제 여부와 관계없이 책의 가격을 조회한다. 가격대별 책 수에서 수정, 삭제 전 가격을 뺄 때 사용한다.
+     * @param bookId 조회할 책의 id
+     * @return 가격 (책이 없으면 empty)
+     */
+    @Query(value = "select price from book where book_id = :bookId", nativeQuery = true)
+    Optional<Long> findPriceIncludingDeleted(Long bookId);
+
+    /**
+     * 책 목록 화면의 조건부 요청 처리를 위해 목록 조건에 맞는 책의 변경 여부를 나타내는 컬럼만 집계한다.
+     * 제목 조건은 검색 색인과 같이 대소문자를 구분하지 않는 부분 문자열 일치로 거른다.
+     * @param title 소문자로 바꾼 검색할 책 제목 (비어 있으면 제한 없음)
+     * @param minPrice 최소 가격 (포함)
+     * @param maxPrice 최대 가격 (제외)
+     * @return 검증 값
+     */
+    @Query("select new com.spring.onedayboot.book.dto.BookCacheValidator(count(b), max(b.createdAt), max(b.modifiedAt), max(b.lastCommentedAt)) " +
+            "from Book b where (:title is null or locate(:title, lower(b.title)) > 0) and b.price >= :minPrice and b.price < :maxPrice")
+    BookCacheValidator findListCacheValidator(String title, long minPrice, long maxPrice);
 }
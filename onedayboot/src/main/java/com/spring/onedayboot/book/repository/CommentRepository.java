@@ -1,7 +1,42 @@
 package com.spring.onedayboot.book.repository;
 
 import com.spring.onedayboot.book.entity.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    /**
+     * 키셋(seek) 방식으로 책의 코멘트 목록을 조회한다.
+     * @param bookId 코멘트를 조회할 책의 id
+     * @param position 이전 페이지의 마지막 위치
+     * @param limit 조회할 개수
+     * @param sort 정렬 조건
+     * @return 조회된 코멘트 목록
+     */
+    Window<Comment> findByBookBookId(Long bookId, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * 여러 책의 코멘트를 (책 id, 코멘트 id) 키셋으로 나눠 조회한다. (book_id, comment_id) 인덱스 순서대로 limit 건만 읽는다.
+     * @param bookIds 코멘트를 조회할 책의 id 목록
+     * @param afterBookId 이전 페이지의 마지막 코멘트의 책 id (첫 페이지면 0)
+     * @param afterCommentId 이전 페이지의 마지막 코멘트 id (첫 페이지면 0)
+     * @param limit 조회할 개수
+     * @return 책 id, 코멘트 id 순서로 정렬된 코멘트 목록
+     */
+    @Query("select c from Comment c where c.book.bookId in :bookIds " +
+            "and (c.book.bookId > :afterBookId or (c.book.bookId = :afterBookId and c.commentId > :afterCommentId)) " +
+            "order by c.book.bookId, c.commentId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Comment> findExportPage(Collection<Long> bookIds, long afterBookId, long afterCommentId, Limit limit);
 }
@@ -0,0 +1,409 @@
+package com.spring.onedayboot.book.search;
+
+import com.spring.onedayboot.book.dto.BookIndexView;
+import com.spring.onedayboot.book.event.BookChangedEvent;
+import com.spring.onedayboot.book.event.BooksImportedEvent;
+import com.spring.onedayboot.book.repository.BookRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 책 제목 검색을 위한 Lucene 역색인.
+ * 제목을 n-gram 으로 색인하여 LIKE '%title%' 없이 관련도 순으로 검색한다.
+ * 가격은 범위 검색용 포인트로 색인하여 제목 검색 결과를 가격대로 거른다.
+ * <p>
+ * 색인에는 검색에 필요한 값만 두고, 화면에 보여줄 제목과 코멘트 수는 검색된 id 로 DB 에서 조회한다.
+ * 색인을 다시 만들 때는 새 색인에 모두 넣은 뒤 교체하므로, 그동안에도 기존 색인으로 검색한다.
+ * 시작할 때는 별도 스레드에서 만들어 책이 많아도 애플리케이션 시작을 늦추지 않으며, 만들기 전까지 제목 검색은 DB 에서 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex {
+
+    private static final String FIELD_ID = "bookId";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CREATED_AT = "createdAt";
+    private static final String FIELD_PRICE = "price";
+    private static final int REINDEX_BATCH_SIZE = 1000;
+
+    // 색인은 1~2 글자 단위로, 검색어는 2 글자 단위로 분리하여 부분 문자열 검색과 같은 결과를 얻는다.
+    private final Analyzer indexAnalyzer = new BookTitleAnalyzer(1, 2);
+    private final Analyzer queryAnalyzer = new BookTitleAnalyzer(2, 2);
+
+    private final BookRepository bookRepository;
+
+    // 색인 변경과 색인 교체 순서를 맞추기 위한 잠금
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // 색인을 한 번에 하나씩 다시 만들기 위한 잠금
+    private final ReentrantLock reindexLock = new ReentrantLock();
+    private final ExecutorService reindexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "book-search-reindex");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${book.search.index-dir:}")
+    private String indexDir;
+
+    // 검색에 사용하는 색인
+    private volatile Generation current;
+    // 한 번이라도 DB 의 모든 책으로 색인을 만들었는지 여부
+    private volatile boolean ready;
+    // 다시 만드는 동안 반영된 변경, 새 색인으로 교체하기 전에 다시 반영한다 (writeLock 으로 보호)
+    private List<BookChangedEvent> missed;
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!this.indexDir.isBlank() && Files.isDirectory(Path.of(this.indexDir))) {
+            // 이전 실행에서 남은 색인은 시작할 때 다시 만들므로 지운다
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(Path.of(this.indexDir), "index-*")) {
+                for (Path leftover : leftovers) {
+                    deleteRecursively(leftover);
+                }
+            }
+        }
+        this.current = openGeneration();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        this.reindexer.shutdownNow();
+        this.current.close();
+    }
+
+    /**
+     * 색인을 처음 만들기 전이면 false, 이때 제목 검색은 DB 에서 해야 한다.
+     * @return 검색할 수 있으면 true
+     */
+    public boolean isReady() {
+        return this.ready;
+    }
+
+    /**
+     * 애플리케이션이 시작되면 별도 스레드에서 색인을 만든다.
+     * 실패해도 애플리케이션은 계속 실행되고, 제목 검색은 DB 에서 한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reindexInBackground() {
+        this.reindexer.execute(() -> {
+            try {
+                reindex();
+            } catch (IOException | RuntimeException e) {
+                log.error("책 검색 색인을 만들지 못했습니다.", e);
+            }
+        });
+    }
+
+    /**
+     * DB 의 모든 책으로 새 색인을 만들어 기존 색인과 교체한다.
+     * 만드는 동안 들어온 변경은 교체하기 전에 새 색인에 다시 반영하여 DB 에서 읽은 이전 값이 남지 않도록 한다.
+     * 이미 만들고 있으면 끝날 때까지 기다렸다가 다시 만든다.
+     */
+    public void reindex() throws IOException {
+        this.reindexLock.lock();
+        try {
+            rebuild();
+        } finally {
+            this.reindexLock.unlock();
+        }
+    }
+
+    private void rebuild() throws IOException {
+        this.writeLock.lock();
+        try {
+            this.missed = new ArrayList<>();
+        } finally {
+            this.writeLock.unlock();
+        }
+
+        Generation next = null;
+        Generation previous;
+        long count = 0;
+        try {
+            next = openGeneration();
+            ScrollPosition position = ScrollPosition.keyset();
+            Window<BookIndexView> window;
+            do {
+                window = this.bookRepository.findIndexBy(position, Limit.of(REINDEX_BATCH_SIZE), Sort.by("bookId"));
+                for (BookIndexView book : window) {
+                    next.writer.addDocument(toDocument(book.getBookId(), book.getTitle(), book.getCreatedAt(), book.getPrice()));
+                    count++;
+                }
+                if (!window.isEmpty()) {
+                    position = window.positionAt(window.size() - 1);
+                }
+            } while (window.hasNext());
+
+            this.writeLock.lock();
+            try {
+                for (BookChangedEvent event : this.missed) {
+                    apply(next, event);
+                }
+                next.writer.commit();
+                next.searcherManager.maybeRefresh();
+                previous = this.current;
+                this.current = next;
+                this.ready = true;
+                this.missed = null;
+            } finally {
+                this.writeLock.unlock();
+            }
+        } catch (IOException | RuntimeException e) {
+            this.writeLock.lock();
+            try {
+                this.missed = null;
+            } finally {
+                this.writeLock.unlock();
+            }
+            if (next != null) {
+                next.close();
+            }
+            throw e;
+        }
+        previous.close();
+        log.info("책 검색 색인 생성 완료: {}건", count);
+    }
+
+    /**
+     * 책이 등록, 수정, 삭제되면 트랜잭션 커밋 후 색인에 반영한다.
+     * @param event 책 변경 이벤트
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) throws IOException {
+        this.writeLock.lock();
+        try {
+            apply(this.current, event);
+            this.current.searcherManager.maybeRefresh();
+            if (this.missed != null) {
+                this.missed.add(event);
+            }
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * 일괄 등록된 책을 트랜잭션 커밋 후 색인에 반영한다. 청크마다 한 번만 검색기를 갱신한다.
+     * @param event 일괄 등록 이벤트
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksImported(BooksImportedEvent event) throws IOException {
+        this.writeLock.lock();
+        try {
+            for (BookChangedEvent book : event.getBooks()) {
+                apply(this.current, book);
+            }
+            this.current.searcherManager.maybeRefresh();
+            if (this.missed != null) {
+                this.missed.addAll(event.getBooks());
+            }
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * 제목으로 책을 검색한다. 관련도 순으로 정렬하고, 관련도가 같으면 등록일 순으로 정렬한다.
+     * @param title 검색할 책 제목
+     * @param minPrice 최소 가격 (포함)
+     * @param maxPrice 최대 가격 (제외)
+     * @param offset 건너뛸 개수
+     * @param limit 조회할 개수
+     * @param direction 등록일 정렬 방향
+     * @return 검색 순서대로 정렬된 책 id 리스트
+     */
+    public List<Long> search(String title, long minPrice, long maxPrice, int offset, int limit, Sort.Direction direction) {
+        if (minPrice >= maxPrice) {
+            return List.of();
+        }
+        try {
+            // 가격 조건은 관련도에 영향을 주지 않도록 필터로 추가
+            BooleanQuery query = new BooleanQuery.Builder()
+                    .add(toQuery(title), BooleanClause.Occur.MUST)
+                    .add(LongPoint.newRangeQuery(FIELD_PRICE, minPrice, maxPrice - 1), BooleanClause.Occur.FILTER)
+                    .build();
+            org.apache.lucene.search.Sort sort = new org.apache.lucene.search.Sort(
+                    SortField.FIELD_SCORE,
+                    new SortField(FIELD_CREATED_AT, SortField.Type.LONG, direction.isDescending()));
+
+            SearcherManager searcherManager = this.current.searcherManager;
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, offset + limit, sort, true);
+                List<Long> bookIds = new ArrayList<>();
+                for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                    Document document = searcher.storedFields().document(scoreDoc.doc, Set.of(FIELD_ID));
+                    bookIds.add(Long.valueOf(document.get(FIELD_ID)));
+                }
+                return bookIds;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("책 검색에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 검색어를 2 글자 단위로 분리하여 모두 포함하는 문서를 찾는 쿼리를 만든다.
+     * 검색어가 한 글자면 그대로 사용한다.
+     */
+    private BooleanQuery toQuery(String title) throws IOException {
+        String normalized = title.trim().toLowerCase(Locale.ROOT);
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        if (normalized.length() < 2) {
+            builder.add(new TermQuery(new Term(FIELD_TITLE, normalized)), BooleanClause.Occur.MUST);
+            return builder.build();
+        }
+        try (TokenStream tokenStream = this.queryAnalyzer.tokenStream(FIELD_TITLE, normalized)) {
+            CharTermAttribute term = tokenStream.addAttribute(CharTermAttribute.class);
+            tokenStream.reset();
+            while (tokenStream.incrementToken()) {
+                builder.add(new TermQuery(new Term(FIELD_TITLE, term.toString())), BooleanClause.Occur.MUST);
+            }
+            tokenStream.end();
+        }
+        return builder.build();
+    }
+
+    private void apply(Generation generation, BookChangedEvent event) throws IOException {
+        Term idTerm = new Term(FIELD_ID, String.valueOf(event.getBookId()));
+        if (event.isDeleted()) {
+            generation.writer.deleteDocuments(idTerm);
+            return;
+        }
+        // 조회 없이 수정된 책은 색인에 저장된 등록일을 그대로 사용
+        LocalDateTime createdAt = event.getCreatedAt() != null
+                ? event.getCreatedAt()
+                : indexedCreatedAt(generation, idTerm);
+        generation.writer.updateDocument(idTerm, toDocument(event.getBookId(), event.getTitle(), createdAt, event.getPrice()));
+    }
+
+    private LocalDateTime indexedCreatedAt(Generation generation, Term idTerm) throws IOException {
+        // 아직 검색기에 반영되지 않은 문서도 찾을 수 있도록 먼저 갱신
+        generation.searcherManager.maybeRefreshBlocking();
+        IndexSearcher searcher = generation.searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(new TermQuery(idTerm), 1);
+            if (topDocs.scoreDocs.length == 0) {
+                return LocalDateTime.now();
+            }
+            Document document = searcher.storedFields().document(topDocs.scoreDocs[0].doc);
+            long createdAt = document.getField(FIELD_CREATED_AT).numericValue().longValue();
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(createdAt), ZoneOffset.UTC);
+        } finally {
+            generation.searcherManager.release(searcher);
+        }
+    }
+
+    private Document toDocument(Long bookId, String title, LocalDateTime createdAt, Long price) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, String.valueOf(bookId), Field.Store.YES));
+        document.add(new TextField(FIELD_TITLE, title, Field.Store.NO));
+        long createdAtMillis = createdAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        document.add(new NumericDocValuesField(FIELD_CREATED_AT, createdAtMillis));
+        document.add(new StoredField(FIELD_CREATED_AT, createdAtMillis));
+        document.add(new LongPoint(FIELD_PRICE, price));
+        return document;
+    }
+
+    /**
+     * 빈 색인을 연다. book.search.index-dir 가 설정되면 그 아래에 색인마다 새 디렉터리를 만든다.
+     */
+    private Generation openGeneration() throws IOException {
+        Path path = null;
+        Directory directory;
+        if (this.indexDir.isBlank()) {
+            directory = new ByteBuffersDirectory();
+        } else {
+            Path parent = Files.createDirectories(Path.of(this.indexDir));
+            path = Files.createTempDirectory(parent, "index-");
+            directory = FSDirectory.open(path);
+        }
+        IndexWriterConfig config = new IndexWriterConfig(this.indexAnalyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        IndexWriter writer = new IndexWriter(directory, config);
+        return new Generation(path, directory, writer, new SearcherManager(writer, null));
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path child : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(child);
+            }
+        }
+    }
+
+    /**
+     * 한 번에 만든 색인과 그 색인의 writer, 검색기.
+     */
+    private record Generation(Path path, Directory directory, IndexWriter writer, SearcherManager searcherManager) {
+
+        void close() throws IOException {
+            this.searcherManager.close();
+            this.writer.close();
+            this.directory.close();
+            if (this.path != null) {
+                deleteRecursively(this.path);
+            }
+        }
+    }
+}
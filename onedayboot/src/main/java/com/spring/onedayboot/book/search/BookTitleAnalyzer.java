@@ -0,0 +1,29 @@
+package com.spring.onedayboot.book.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
+
+/**
+ * 책 제목을 n-gram 으로 분리하는 Analyzer.
+ * 한글 제목은 띄어쓰기와 무관하게 부분 문자열로 검색되어야 하므로 형태소 대신 n-gram 을 사용한다.
+ */
+class BookTitleAnalyzer extends Analyzer {
+
+    private final int minGram;
+    private final int maxGram;
+
+    BookTitleAnalyzer(int minGram, int maxGram) {
+        this.minGram = minGram;
+        this.maxGram = maxGram;
+    }
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        Tokenizer tokenizer = new NGramTokenizer(this.minGram, this.maxGram);
+        TokenStream filter = new LowerCaseFilter(tokenizer);
+        return new TokenStreamComponents(tokenizer, filter);
+    }
+}
@@ -0,0 +1,198 @@
+package com.spring.onedayboot.book.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 로컬에서 운영과 비슷한 데이터로 테스트할 수 있도록 책과 코멘트를 대량으로 생성한다.
+ * <p>
+ * seed 프로필로 실행하면 애플리케이션이 뜬 직후 책을 seed.books 건, 코멘트를 seed.comments 건이 될 때까지 추가한다.
+ * ApplicationRunner 는 내장 톰캣이 요청을 받기 시작한 뒤에 실행되므로, "데이터 생성 완료" 로그가 나오기 전의 요청은
+ * 일부만 들어간 데이터를 보게 된다. 부하 테스트는 생성이 끝난 뒤에 시작한다.
+ * 이미 그만큼 있으면 추가하지 않으므로 다시 실행해도 된다.
+ * 코멘트는 지프 분포(seed.zipf-exponent)로 일부 책에 몰리도록 만들고, 같은 seed.random-seed 면 같은 데이터를 만든다.
+ * <pre>
+ * gradle bootRun --args='--spring.profiles.active=seed --seed.books=1000000 --seed.comments=5000000'
+ * </pre>
+ */
+@Slf4j
+@Component
+@Profile("seed")
+public class BookDataSeeder implements ApplicationRunner {
+
+    private static final String BOOK_INSERT_SQL = "INSERT INTO book (title, price, created_at, modified_at) VALUES (?, ?, ?, ?)";
+    private static final String COMMENT_INSERT_SQL = "INSERT INTO comment (book_id, comment, page, created_at, modified_at) VALUES (?, ?, ?, ?, ?)";
+    // 배치마다 책별 코멘트 수를 더하고, 마지막 코멘트 등록일은 더 최근일 때만 바꾼다
+    private static final String COUNT_UPDATE_SQL = "UPDATE book SET comment_count = comment_count + ?, "
+            + "last_commented_at = CASE WHEN last_commented_at IS NULL OR last_commented_at < ? THEN ? ELSE last_commented_at END "
+            + "WHERE book_id = ?";
+    private static final String[] TITLE_WORDS = {
+            "스프링", "자바", "데이터", "설계", "클린", "코드", "객체", "패턴", "테스트", "성능",
+            "분산", "시스템", "알고리즘", "네트워크", "보안", "리팩터링", "도메인", "아키텍처", "운영", "입문"};
+    private static final long PERIOD_SECONDS = 365L * 24 * 60 * 60;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long books;
+    private final long comments;
+    private final double zipfExponent;
+    private final int batchSize;
+    private final Random random;
+
+    public BookDataSeeder(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${seed.books:1000000}") long books,
+                          @Value("${seed.comments:5000000}") long comments,
+                          @Value("${seed.zipf-exponent:1.0}") double zipfExponent,
+                          @Value("${seed.batch-size:5000}") int batchSize,
+                          @Value("${seed.random-seed:42}") long randomSeed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.books = books;
+        this.comments = comments;
+        this.zipfExponent = zipfExponent;
+        this.batchSize = batchSize;
+        this.random = new Random(randomSeed);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        LocalDateTime now = LocalDateTime.now();
+        long existingBooks = count("SELECT COUNT(*) FROM book WHERE deleted_at IS NULL");
+        if (existingBooks < this.books) {
+            insertBooks(this.books - existingBooks, now);
+        }
+
+        long existingComments = count("SELECT COUNT(*) FROM comment");
+        if (existingComments < this.comments) {
+            insertComments(readBookIds(), this.comments - existingComments, now);
+        }
+        log.info("데이터 생성 완료: 책 {}건, 코멘트 {}건",
+                count("SELECT COUNT(*) FROM book WHERE deleted_at IS NULL"), count("SELECT COUNT(*) FROM comment"));
+    }
+
+    private void insertBooks(long total, LocalDateTime now) {
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(this.batchSize);
+        for (long i = 0; i < total; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(this.random.nextLong(PERIOD_SECONDS)));
+            batch.add(new Object[]{title(), 1000L + this.random.nextInt(50) * 1000L, createdAt, createdAt});
+            if (batch.size() == this.batchSize || i == total - 1) {
+                List<Object[]> rows = batch;
+                this.transactionTemplate.executeWithoutResult(status -> this.jdbcTemplate.batchUpdate(BOOK_INSERT_SQL, rows));
+                batch = new ArrayList<>(this.batchSize);
+                logProgress("책", i + 1, total, start);
+            }
+        }
+    }
+
+    private void insertComments(long[] bookIds, long total, LocalDateTime now) {
+        if (bookIds.length == 0) {
+            return;
+        }
+        // 순위가 높은 책이 항상 오래된 책이 되지 않도록 순위와 책을 섞어서 연결
+        shuffle(bookIds);
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(this.batchSize);
+        for (long i = 0; i < total; i++) {
+            long bookId = bookIds[zipfRank(bookIds.length)];
+            Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(this.random.nextLong(PERIOD_SECONDS)));
+            batch.add(new Object[]{bookId, "코멘트 " + (i + 1), 1 + this.random.nextInt(500), createdAt, createdAt});
+            if (batch.size() == this.batchSize || i == total - 1) {
+                writeComments(batch);
+                batch = new ArrayList<>(this.batchSize);
+                logProgress("코멘트", i + 1, total, start);
+            }
+        }
+    }
+
+    /**
+     * 코멘트와 책별 코멘트 수를 한 트랜잭션으로 저장한다. 중간에 멈춰도 코멘트 수가 어긋나지 않는다.
+     */
+    private void writeComments(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        Map<Long, Timestamp> lastCommentedAt = new HashMap<>();
+        for (Object[] row : rows) {
+            Long bookId = (Long) row[0];
+            counts.merge(bookId, 1L, Long::sum);
+            lastCommentedAt.merge(bookId, (Timestamp) row[3], (a, b) -> a.after(b) ? a : b);
+        }
+        List<Object[]> updates = new ArrayList<>(counts.size());
+        counts.forEach((bookId, count) -> updates.add(new Object[]{
+                count, lastCommentedAt.get(bookId), lastCommentedAt.get(bookId), bookId}));
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.jdbcTemplate.batchUpdate(COMMENT_INSERT_SQL, rows);
+            this.jdbcTemplate.batchUpdate(COUNT_UPDATE_SQL, updates);
+        });
+    }
+
+    /**
+     * 1 위가 가장 자주 나오는 지프 분포에서 순위를 뽑는다 (0 부터 시작).
+     * 연속 분포의 역함수로 근사해 책 수와 무관하게 메모리를 쓰지 않는다.
+     */
+    private int zipfRank(int n) {
+        double u = this.random.nextDouble();
+        double x;
+        if (Math.abs(this.zipfExponent - 1.0) < 1e-9) {
+            x = Math.exp(u * Math.log(n + 1.0));
+        } else {
+            double oneMinusS = 1.0 - this.zipfExponent;
+            x = Math.pow(u * (Math.pow(n + 1.0, oneMinusS) - 1.0) + 1.0, 1.0 / oneMinusS);
+        }
+        return Math.min(n - 1, (int) x - 1);
+    }
+
+    private long[] readBookIds() {
+        long[] ids = new long[(int) count("SELECT COUNT(*) FROM book WHERE deleted_at IS NULL")];
+        int[] size = {0};
+        this.jdbcTemplate.query("SELECT book_id FROM book WHERE deleted_at IS NULL ORDER BY book_id", rs -> {
+            if (size[0] < ids.length) {
+                ids[size[0]++] = rs.getLong(1);
+            }
+        });
+        return size[0] == ids.length ? ids : Arrays.copyOf(ids, size[0]);
+    }
+
+    private void shuffle(long[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = this.random.nextInt(i + 1);
+            long tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private String title() {
+        return TITLE_WORDS[this.random.nextInt(TITLE_WORDS.length)] + " "
+                + TITLE_WORDS[this.random.nextInt(TITLE_WORDS.length)] + " "
+                + (1 + this.random.nextInt(10_000));
+    }
+
+    private long count(String sql) {
+        Long count = this.jdbcTemplate.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private void logProgress(String name, long done, long total, long startNanos) {
+        if (done % (this.batchSize * 20L) != 0 && done != total) {
+            return;
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        log.info("{} {}/{}건 생성 ({} 건/초)", name, done, total, Math.round(done / Math.max(seconds, 0.001)));
+    }
+}
@@ -0,0 +1,27 @@
+package com.spring.onedayboot.book.service;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public interface BookExportService {
+
+    /**
+     * 모든 책을 CSV 또는 NDJSON 형식으로 내보낸다.
+     * @param writer 내보낼 대상
+     * @param ndjson true 면 NDJSON, false 면 CSV 형식
+     * @param withComments 코멘트를 함께 내보낼지 여부
+     * @throws IOException 쓰기에 실패했을 때
+     */
+    public void exportBooks(Writer writer, boolean ndjson, boolean withComments) throws IOException;
+
+    /**
+     * 제목과 가격대로 걸러낸 책을 NDJSON 형식으로 내보낸다. 책 목록 API 와 같은 조건을 사용한다.
+     * @param writer 내보낼 대상
+     * @param title 검색할 책 제목 (비어있으면 제한 없음)
+     * @param minPrice 최소 가격 (포함, 비어있으면 제한 없음)
+     * @param maxPrice 최대 가격 (제외, 비어있으면 제한 없음)
+     * @param size 내보낼 최대 책 수 (비어있으면 제한 없음)
+     * @throws IOException 쓰기에 실패했을 때
+     */
+    public void exportBooks(Writer writer, String title, Long minPrice, Long maxPrice, Integer size) throws IOException;
+}
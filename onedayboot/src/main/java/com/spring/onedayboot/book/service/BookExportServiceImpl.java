@@ -0,0 +1,217 @@
+package com.spring.onedayboot.book.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.onedayboot.book.dto.CommentListResponse;
+import com.spring.onedayboot.book.entity.Book;
+import com.spring.onedayboot.book.entity.Comment;
+import com.spring.onedayboot.book.repository.BookRepository;
+import com.spring.onedayboot.book.repository.CommentRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 책 목록 내보내기 서비스.
+ * 책을 스트림으로 읽으면서 일정 개수마다 영속성 컨텍스트를 비워 행 수와 무관하게 메모리 사용량을 유지한다.
+ * 코멘트도 CHUNK_SIZE 건씩 키셋으로 조회하며 바로 쓰므로 코멘트가 많은 책도 한 번에 메모리에 올리지 않는다.
+ * MySQL 은 useCursorFetch=true 를 JDBC URL 에 추가해야 fetch size 단위로 스트리밍되고,
+ * 책 스트림을 연 채로 코멘트를 조회할 수 있다.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookExportServiceImpl implements BookExportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final String CSV_HEADER = "book_id,title,price,created_at";
+    private static final String CSV_COMMENT_HEADER = CSV_HEADER + ",comment_id,page,comment";
+
+    private final BookRepository bookRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 모든 책을 CSV 또는 NDJSON 형식으로 내보낸다.
+     * 코멘트는 책 CHUNK_SIZE 권마다 코멘트 CHUNK_SIZE 건씩 나눠 조회한다.
+     * @param writer 내보낼 대상
+     * @param ndjson true 면 NDJSON, false 면 CSV 형식
+     * @param withComments 코멘트를 함께 내보낼지 여부
+     * @throws IOException 쓰기에 실패했을 때
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBooks(Writer writer, boolean ndjson, boolean withComments) throws IOException {
+        try (Stream<Book> books = this.bookRepository.streamAllBy()) {
+            export(writer, books, ndjson, withComments);
+        }
+    }
+
+    /**
+     * 제목과 가격대로 걸러낸 책을 NDJSON 형식으로 내보낸다. 책 목록 API 와 같은 조건을 사용한다.
+     * @param writer 내보낼 대상
+     * @param title 검색할 책 제목 (비어있으면 제한 없음)
+     * @param minPrice 최소 가격 (포함, 비어있으면 제한 없음)
+     * @param maxPrice 최대 가격 (제외, 비어있으면 제한 없음)
+     * @param size 내보낼 최대 책 수 (비어있으면 제한 없음)
+     * @throws IOException 쓰기에 실패했을 때
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBooks(Writer writer, String title, Long minPrice, Long maxPrice, Integer size) throws IOException {
+        try (Stream<Book> books = this.bookRepository.streamByTitleContainingAndPriceGreaterThanEqualAndPriceLessThanOrderByBookId(
+                title != null ? title : "",
+                minPrice != null ? minPrice : 0L,
+                maxPrice != null ? maxPrice : Long.MAX_VALUE,
+                size != null && size > 0 ? Limit.of(size) : Limit.unlimited())) {
+            export(writer, books, true, false);
+        }
+    }
+
+    private void export(Writer writer, Stream<Book> books, boolean ndjson, boolean withComments) throws IOException {
+        JsonGenerator json = null;
+        if (ndjson) {
+            // 책 한 권의 코멘트 배열도 나눠 쓸 수 있도록 객체 대신 토큰 단위로 쓴다
+            json = this.objectMapper.createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+        } else {
+            writer.write(withComments ? CSV_COMMENT_HEADER : CSV_HEADER);
+            writer.write('\n');
+        }
+
+        Iterator<Book> iterator = books.iterator();
+        List<Book> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                CommentPages comments = withComments
+                        ? new CommentPages(chunk.stream().map(Book::getBookId).toList())
+                        : null;
+                for (Book book : chunk) {
+                    if (json != null) {
+                        writeJson(json, book, comments);
+                    } else {
+                        writeCsv(writer, book, comments);
+                    }
+                }
+                chunk.clear();
+                // 내보낸 엔티티를 영속성 컨텍스트에서 분리
+                this.entityManager.clear();
+                if (json != null) {
+                    json.flush();
+                }
+                writer.flush();
+            }
+        }
+        if (json != null) {
+            json.close();
+        }
+    }
+
+    private void writeJson(JsonGenerator json, Book book, CommentPages comments) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("bookId", book.getBookId());
+        json.writeStringField("title", book.getTitle());
+        json.writeNumberField("price", book.getPrice());
+        if (book.getCreatedAt() != null) {
+            json.writeObjectField("createdAt", book.getCreatedAt());
+        }
+        if (comments != null) {
+            json.writeArrayFieldStart("comments");
+            while (comments.hasNextFor(book.getBookId())) {
+                json.writeObject(CommentListResponse.fromComment(comments.next()));
+            }
+            json.writeEndArray();
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeCsv(Writer writer, Book book, CommentPages comments) throws IOException {
+        String bookColumns = book.getBookId() + "," + csv(book.getTitle()) + "," + book.getPrice() + "," + book.getCreatedAt();
+        if (comments == null) {
+            writer.write(bookColumns);
+            writer.write('\n');
+            return;
+        }
+        boolean written = false;
+        while (comments.hasNextFor(book.getBookId())) {
+            Comment comment = comments.next();
+            writer.write(bookColumns + "," + comment.getCommentId() + ","
+                    + (comment.getPage() == null ? "" : comment.getPage()) + "," + csv(comment.getComment()));
+            writer.write('\n');
+            written = true;
+        }
+        // 코멘트가 없는 책도 한 줄은 내보낸다
+        if (!written) {
+            writer.write(bookColumns + ",,,");
+            writer.write('\n');
+        }
+    }
+
+    private String csv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * 책 청크의 코멘트를 (책 id, 코멘트 id) 순서로 CHUNK_SIZE 건씩 조회하며 차례로 꺼낸다.
+     * 책도 id 순서로 내보내므로 책마다 자기 코멘트를 앞에서부터 꺼내면 된다.
+     */
+    private class CommentPages {
+
+        private final List<Long> bookIds;
+        private List<Comment> page = List.of();
+        private int index;
+        private boolean exhausted;
+        private long afterBookId;
+        private long afterCommentId;
+
+        private CommentPages(List<Long> bookIds) {
+            this.bookIds = bookIds;
+        }
+
+        /**
+         * 다음 코멘트가 주어진 책의 코멘트인지 확인한다. 현재 페이지를 다 꺼냈으면 다음 페이지를 조회한다.
+         */
+        private boolean hasNextFor(Long bookId) {
+            if (this.index == this.page.size()) {
+                fetch();
+            }
+            return this.index < this.page.size() && this.page.get(this.index).getBook().getBookId().equals(bookId);
+        }
+
+        private Comment next() {
+            return this.page.get(this.index++);
+        }
+
+        private void fetch() {
+            if (this.exhausted) {
+                return;
+            }
+            this.page = BookExportServiceImpl.this.commentRepository.findExportPage(
+                    this.bookIds, this.afterBookId, this.afterCommentId, Limit.of(CHUNK_SIZE));
+            this.index = 0;
+            this.exhausted = this.page.size() < CHUNK_SIZE;
+            if (!this.page.isEmpty()) {
+                Comment last = this.page.get(this.page.size() - 1);
+                this.afterBookId = last.getBook().getBookId();
+                this.afterCommentId = last.getCommentId();
+            }
+            // 조회한 코멘트는 값만 읽으므로 영속성 컨텍스트에 쌓이지 않도록 분리
+            this.page.forEach(BookExportServiceImpl.this.entityManager::detach);
+        }
+    }
+}
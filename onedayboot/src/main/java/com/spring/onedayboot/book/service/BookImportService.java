@@ -0,0 +1,18 @@
+package com.spring.onedayboot.book.service;
+
+import com.spring.onedayboot.book.dto.BookImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BookImportService {
+
+    /**
+     * 책을 일괄 등록한다. 잘못된 행은 건너뛰고 결과에 오류로 기록한다.
+     * @param body 한 줄에 한 권씩 책 정보를 담은 입력 스트림
+     * @param ndjson true 면 NDJSON, false 면 CSV (title,price) 형식
+     * @return 일괄 등록 결과
+     * @throws IOException 입력 스트림을 읽지 못했을 때
+     */
+    public BookImportResponse importBooks(InputStream body, boolean ndjson) throws IOException;
+}
@@ -0,0 +1,225 @@
+package com.spring.onedayboot.book.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.onedayboot.book.dto.BookCreateRequest;
+import com.spring.onedayboot.book.dto.BookImportError;
+import com.spring.onedayboot.book.dto.BookImportResponse;
+import com.spring.onedayboot.book.event.BookChangedEvent;
+import com.spring.onedayboot.book.event.BooksImportedEvent;
+import com.spring.onedayboot.common.datasource.ReadYourWrites;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 책 일괄 등록 서비스.
+ * Book 은 IDENTITY 전략이라 Hibernate 가 insert 를 묶지 못하므로 JDBC batch insert 를 직접 사용한다.
+ * MySQL 은 rewriteBatchedStatements=true, PostgreSQL 은 reWriteBatchedInserts=true 를 JDBC URL 에 추가하면
+ * 청크 하나가 다중 VALUES insert 한 번으로 전송된다.
+ */
+@Service
+public class BookImportServiceImpl implements BookImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO book (title, price, created_at) VALUES (?, ?, ?)";
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public BookImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${book.import.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 책을 일괄 등록한다. 잘못된 행은 건너뛰고 결과에 오류로 기록한다.
+     * 청크 단위로 커밋하므로 한 청크가 실패해도 앞서 등록된 청크는 유지된다.
+     * @param body 한 줄에 한 권씩 책 정보를 담은 입력 스트림
+     * @param ndjson true 면 NDJSON, false 면 CSV (title,price) 형식
+     * @return 일괄 등록 결과
+     * @throws IOException 입력 스트림을 읽지 못했을 때
+     */
+    @Override
+    @ReadYourWrites
+    public BookImportResponse importBooks(InputStream body, boolean ndjson) throws IOException {
+        ImportResult result = new ImportResult();
+        List<Row> chunk = new ArrayList<>(this.chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (!ndjson && lineNumber == 1 && line.trim().equalsIgnoreCase("title,price"))) {
+                    continue;
+                }
+                result.total++;
+                try {
+                    BookCreateRequest request = ndjson ? parseJson(line) : parseCsv(line);
+                    validate(request);
+                    chunk.add(new Row(lineNumber, request));
+                } catch (IllegalArgumentException e) {
+                    result.error(lineNumber, e.getMessage());
+                }
+                if (chunk.size() >= this.chunkSize) {
+                    flush(chunk, result);
+                    chunk.clear();
+                }
+            }
+        }
+        flush(chunk, result);
+
+        return BookImportResponse.builder()
+                .total(result.total)
+                .imported(result.imported)
+                .failed(result.failed)
+                .errors(result.errors)
+                .build();
+    }
+
+    /**
+     * 청크를 하나의 batch insert 로 저장한다. 실패하면 실패한 행을 찾기 위해 한 건씩 다시 저장한다.
+     */
+    private void flush(List<Row> chunk, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            result.imported += chunk.size();
+        } catch (DataAccessException e) {
+            for (Row row : chunk) {
+                try {
+                    this.transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    result.imported++;
+                } catch (DataAccessException rowException) {
+                    result.error(row.line(), "책 정보 저장에 실패했습니다.");
+                }
+            }
+        }
+    }
+
+    private void insert(List<Row> rows) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        this.jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"book_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        BookCreateRequest request = rows.get(i).request();
+                        ps.setString(1, request.getTitle());
+                        ps.setLong(2, request.getPrice());
+                        ps.setTimestamp(3, Timestamp.valueOf(createdAt));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        // 커밋 후 검색 색인과 가격대별 책 수에 반영할 수 있도록 등록된 id 와 함께 이벤트를 발행
+        List<BookChangedEvent> books = new ArrayList<>(rows.size());
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < rows.size(); i++) {
+            Number bookId = (Number) keys.get(i).values().iterator().next();
+            BookCreateRequest request = rows.get(i).request();
+            books.add(BookChangedEvent.imported(bookId.longValue(), request.getTitle(), createdAt, request.getPrice()));
+        }
+        this.eventPublisher.publishEvent(new BooksImportedEvent(books));
+    }
+
+    private BookCreateRequest parseJson(String line) {
+        try {
+            return this.objectMapper.readValue(line, BookCreateRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON 형식이 올바르지 않습니다.");
+        }
+    }
+
+    private BookCreateRequest parseCsv(String line) {
+        // 제목에 쉼표가 포함될 수 있으므로 마지막 쉼표를 기준으로 가격을 분리
+        int index = line.lastIndexOf(',');
+        if (index < 0) {
+            throw new IllegalArgumentException("title,price 형식이 아닙니다.");
+        }
+        String title = line.substring(0, index).trim();
+        if (title.length() >= 2 && title.startsWith("\"") && title.endsWith("\"")) {
+            title = title.substring(1, title.length() - 1).replace("\"\"", "\"");
+        }
+        BookCreateRequest request = new BookCreateRequest();
+        request.setTitle(title);
+        try {
+            request.setPrice(Long.parseLong(line.substring(index + 1).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("price: 숫자가 아닙니다.");
+        }
+        return request;
+    }
+
+    private void validate(BookCreateRequest request) {
+        Set<ConstraintViolation<BookCreateRequest>> violations = this.validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private record Row(long line, BookCreateRequest request) {
+    }
+
+    private static class ImportResult {
+        private long total;
+        private long imported;
+        private long failed;
+        private final List<BookImportError> errors = new ArrayList<>();
+
+        private void error(long line, String message) {
+            this.failed++;
+            // 오류가 많은 파일에서도 응답 크기가 커지지 않도록 일정 개수까지만 기록
+            if (this.errors.size() < MAX_REPORTED_ERRORS) {
+                this.errors.add(new BookImportError(line, message));
+            }
+        }
+    }
+}
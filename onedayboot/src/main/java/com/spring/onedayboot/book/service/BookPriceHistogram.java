@@ -0,0 +1,145 @@
+package com.spring.onedayboot.book.service;
+
+import com.spring.onedayboot.book.dto.BookPriceFacet;
+import com.spring.onedayboot.book.event.BookChangedEvent;
+import com.spring.onedayboot.book.event.BooksImportedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 책 목록에 보여줄 가격대별 책 수를 메모리에 유지한다.
+ * <p>
+ * 가격대 경계는 book.price-facet.bounds 로 정하고 (기본값이면 1만원 미만, 1만~3만원, 3만~5만원, 5만원 이상),
+ * 책이 등록, 수정, 삭제되면 커밋 후 해당 가격대의 수만 더하고 빼므로 목록 요청마다 GROUP BY 를 실행하지 않는다.
+ * 이벤트 없이 바뀐 행(데이터 생성, 직접 실행한 SQL)이나 반영 도중 어긋난 값은
+ * 시작할 때와 book.price-facet.reconcile-interval 마다 한 번의 집계 쿼리로 DB 와 맞춘다.
+ */
+@Slf4j
+@Component
+public class BookPriceHistogram {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    // 오름차순 가격대 경계, 가격대 i 는 bounds[i - 1] 이상 bounds[i] 미만
+    private final long[] bounds;
+    private final AtomicLongArray counts;
+    private final String reconcileSql;
+    private final Object[] reconcileArgs;
+
+    public BookPriceHistogram(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${book.price-facet.bounds:10000,30000,50000}") long[] bounds) {
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i - 1] >= bounds[i]) {
+                throw new IllegalArgumentException("book.price-facet.bounds 는 오름차순이어야 합니다.");
+            }
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.bounds = bounds.clone();
+        this.counts = new AtomicLongArray(bounds.length + 1);
+        this.reconcileSql = reconcileSql(bounds);
+        this.reconcileArgs = Arrays.stream(bounds).boxed().toArray();
+    }
+
+    /**
+     * 가격대별 책 수를 조회한다. DB 를 조회하지 않고 가격대 수만큼만 읽는다.
+     * @return 가격 순으로 정렬된 가격대별 책 수
+     */
+    public List<BookPriceFacet> facets() {
+        List<BookPriceFacet> facets = new ArrayList<>(this.counts.length());
+        for (int i = 0; i < this.counts.length(); i++) {
+            facets.add(BookPriceFacet.builder()
+                    .minPrice(i == 0 ? null : this.bounds[i - 1])
+                    .maxPrice(i == this.bounds.length ? null : this.bounds[i])
+                    .count(Math.max(0, this.counts.get(i)))
+                    .build());
+        }
+        return facets;
+    }
+
+    /**
+     * 책이 등록, 수정, 삭제되면 트랜잭션 커밋 후 이전 가격대에서 빼고 새 가격대에 더한다.
+     * @param event 책 변경 이벤트
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.getPreviousPrice() != null) {
+            this.counts.decrementAndGet(bucketOf(event.getPreviousPrice()));
+        }
+        if (!event.isDeleted() && event.getPrice() != null) {
+            this.counts.incrementAndGet(bucketOf(event.getPrice()));
+        }
+    }
+
+    /**
+     * 일괄 등록된 책을 트랜잭션 커밋 후 가격대에 더한다.
+     * @param event 일괄 등록 이벤트
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksImported(BooksImportedEvent event) {
+        for (BookChangedEvent book : event.getBooks()) {
+            onBookChanged(book);
+        }
+    }
+
+    /**
+     * 가격대별 책 수를 DB 에서 다시 집계해 메모리 값을 바꾼다.
+     * 집계하는 동안 반영된 변경은 덮어써질 수 있지만 다음 주기에 다시 맞춰진다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${book.price-facet.reconcile-interval:600000}",
+            initialDelayString = "${book.price-facet.reconcile-interval:600000}")
+    public void reconcile() {
+        long[] actual = new long[this.counts.length()];
+        try {
+            // 방금 커밋된 변경까지 집계하도록 읽기 전용이 아닌 트랜잭션으로 primary 에서 조회
+            this.transactionTemplate.executeWithoutResult(status ->
+                    this.jdbcTemplate.query(this.reconcileSql, rs -> {
+                        actual[rs.getInt(1)] = rs.getLong(2);
+                    }, this.reconcileArgs));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("가격대별 책 수를 집계하지 못했습니다.", e);
+            return;
+        }
+        long drift = 0;
+        for (int i = 0; i < actual.length; i++) {
+            drift += Math.abs(this.counts.getAndSet(i, actual[i]) - actual[i]);
+        }
+        if (drift > 0) {
+            log.info("가격대별 책 수를 DB 와 맞췄습니다: 차이 {}건, {}", drift, Arrays.toString(actual));
+        }
+    }
+
+    private int bucketOf(long price) {
+        int index = Arrays.binarySearch(this.bounds, price);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * 가격대 번호별 책 수를 한 번의 스캔으로 집계하는 SQL 을 만든다.
+     */
+    private static String reconcileSql(long[] bounds) {
+        StringBuilder bucket = new StringBuilder("CASE");
+        for (int i = 0; i < bounds.length; i++) {
+            bucket.append(" WHEN price < ? THEN ").append(i);
+        }
+        bucket.append(" ELSE ").append(bounds.length).append(" END");
+        return "SELECT bucket, COUNT(*) FROM (SELECT " + bucket + " AS bucket FROM book WHERE deleted_at IS NULL) b "
+                + "GROUP BY bucket";
+    }
+}
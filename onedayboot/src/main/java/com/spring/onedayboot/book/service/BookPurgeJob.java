@@ -0,0 +1,120 @@
+package com.spring.onedayboot.book.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 소프트 삭제된 책과 그 코멘트를 주기적으로 물리 삭제한다.
+ * <p>
+ * 한 번에 지울 행 수를 book.purge.batch-size 로 제한하고 배치마다 짧은 트랜잭션으로 커밋하며,
+ * 배치 사이에 book.purge.pause 만큼 쉬어 잠금을 오래 잡지 않도록 한다.
+ * 코멘트를 먼저 지운 뒤 코멘트가 남지 않은 책을 지우므로 외래 키를 위반하지 않는다.
+ */
+@Slf4j
+@Component
+public class BookPurgeJob {
+
+    private static final String SELECT_BOOK_IDS_SQL =
+            "SELECT book_id FROM book WHERE deleted_at IS NOT NULL ORDER BY book_id";
+    private static final String SELECT_COMMENT_IDS_SQL =
+            "SELECT comment_id FROM comment WHERE book_id IN (%s)";
+    private static final String DELETE_COMMENTS_SQL =
+            "DELETE FROM comment WHERE comment_id IN (:commentIds)";
+    private static final String DELETE_BOOKS_SQL =
+            "DELETE FROM book WHERE book_id IN (:bookIds) AND deleted_at IS NOT NULL";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pause;
+
+    public BookPurgeJob(NamedParameterJdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${book.purge.batch-size:500}") int batchSize,
+                        @Value("${book.purge.pause:100ms}") Duration pause) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.pause = pause;
+    }
+
+    /**
+     * 삭제된 책이 남지 않을 때까지 배치 단위로 물리 삭제한다.
+     */
+    @Scheduled(fixedDelayString = "${book.purge.interval:60000}")
+    public void purge() {
+        try {
+            long purged = 0;
+            List<Long> bookIds;
+            do {
+                bookIds = findDeletedBookIds();
+                if (bookIds.isEmpty()) {
+                    break;
+                }
+                purgeComments(bookIds);
+                purged += executeInTransaction(DELETE_BOOKS_SQL, Map.of("bookIds", bookIds));
+            } while (bookIds.size() == this.batchSize && pause());
+            if (purged > 0) {
+                log.info("삭제된 책을 정리했습니다: {}권", purged);
+            }
+        } catch (DataAccessException | TransactionException e) {
+            // 다음 주기에 남은 행부터 다시 시도
+            log.warn("삭제된 책을 정리하지 못했습니다.", e);
+        }
+    }
+
+    private List<Long> findDeletedBookIds() {
+        return this.jdbcTemplate.getJdbcTemplate().query(SELECT_BOOK_IDS_SQL, ps -> ps.setMaxRows(this.batchSize),
+                (rs, rowNum) -> rs.getLong(1));
+    }
+
+    /**
+     * 책 batch 의 코멘트를 batchSize 개씩 나눠 삭제한다. 코멘트가 많은 책도 한 문장에서 지우는 행 수가 제한된다.
+     */
+    private void purgeComments(List<Long> bookIds) {
+        // DB 가 batchSize 행만 읽고 멈추도록 maxRows 를 지정 (결과를 끝까지 읽지 않아도 드라이버가 모두 받아오지 않도록)
+        String sql = SELECT_COMMENT_IDS_SQL.formatted(String.join(",", Collections.nCopies(bookIds.size(), "?")));
+        List<Long> commentIds;
+        do {
+            commentIds = this.jdbcTemplate.getJdbcTemplate().query(sql, ps -> {
+                ps.setMaxRows(this.batchSize);
+                for (int i = 0; i < bookIds.size(); i++) {
+                    ps.setLong(i + 1, bookIds.get(i));
+                }
+            }, (rs, rowNum) -> rs.getLong(1));
+            if (!commentIds.isEmpty()) {
+                executeInTransaction(DELETE_COMMENTS_SQL, Map.of("commentIds", commentIds));
+            }
+        } while (commentIds.size() == this.batchSize && pause());
+    }
+
+    private int executeInTransaction(String sql, Map<String, ?> parameters) {
+        Integer updated = this.transactionTemplate.execute(status -> this.jdbcTemplate.update(sql, parameters));
+        return updated == null ? 0 : updated;
+    }
+
+    /**
+     * 다음 배치 전에 쉰다.
+     * @return 계속 진행하면 true, 종료 중이라 중단해야 하면 false
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(this.pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.spring.onedayboot.book.service;
 
 import com.spring.onedayboot.book.dto.*;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Sort;
 
 import java.util.List;
@@ -22,6 +23,15 @@ public interface BookService {
      */
     public BookReadResponse readBook(Long bookId) throws NoSuchElementException;
 
+    /**
+     * 책 목록 화면의 ETag 와 마지막 수정 시각을 조회한다.
+     * @param title 검색할 책 제목
+     * @param minPrice 최소 가격 (포함, 비어있으면 제한 없음)
+     * @param maxPrice 최대 가격 (제외, 비어있으면 제한 없음)
+     * @return 조회된 검증 값
+     */
+    public BookCacheValidator readBookListCacheValidator(String title, Long minPrice, Long maxPrice);
+
     /**
      * 수정할 책을 조회한다.
      * @param bookId 수정할 책의 id
@@ -34,8 +44,9 @@ public interface BookService {
      * 책 정보를 수정한다.
      * @param request 수정할 책 정보를 담은 DTO
      * @throws NoSuchElementException 수정할 책이 없을 때
+     * @throws OptimisticLockingFailureException 다른 사용자가 먼저 수정했을 때
      */
-    public void updateBook(BookUpdateRequest request) throws NoSuchElementException;
+    public void updateBook(BookUpdateRequest request) throws NoSuchElementException, OptimisticLockingFailureException;
 
     /**
      * 책을 삭제한다.
@@ -47,11 +58,34 @@ public interface BookService {
     /**
      * 책을 검색한다.
      * @param title 검색할 책 제목
+     * @param minPrice 최소 가격 (포함, 비어있으면 제한 없음)
+     * @param maxPrice 최대 가격 (제외, 비어있으면 제한 없음)
      * @param page 페이지 번호
      * @param size 페이지 크기
      * @param direction 정렬 방향
+     * @param sort 정렬 기준 (제목 검색 시에는 관련도 순)
      * @return 검색된 책 정보를 담은 DTO 리스트
      */
-    public List<BookListResponse> searchBooks(String title, Integer page, Integer size, Sort.Direction direction);
+    public List<BookListResponse> searchBooks(String title, Long minPrice, Long maxPrice, Integer page, Integer size, Sort.Direction direction, BookListSort sort);
+
+    /**
+     * 커서를 기준으로 책을 검색한다. count 쿼리 없이 다음 페이지만 조회한다.
+     * @param title 검색할 책 제목
+     * @param minPrice 최소 가격 (포함, 비어있으면 제한 없음)
+     * @param maxPrice 최대 가격 (제외, 비어있으면 제한 없음)
+     * @param cursor 이전 페이지의 마지막 위치를 나타내는 커서 (비어있으면 첫 페이지)
+     * @param size 페이지 크기
+     * @param direction 정렬 방향
+     * @param sort 정렬 기준 (등록일 순만 지원)
+     * @return 검색된 책 정보와 다음 커서를 담은 DTO
+     * @throws IllegalArgumentException 커서 형식이 올바르지 않거나 커서로 조회할 수 없는 정렬 기준일 때
+     */
+    public BookSliceResponse scrollBooks(String title, Long minPrice, Long maxPrice, String cursor, Integer size, Sort.Direction direction, BookListSort sort) throws IllegalArgumentException;
+
+    /**
+     * 책 목록의 가격대별 책 수를 조회한다.
+     * @return 가격 순으로 정렬된 가격대별 책 수
+     */
+    public List<BookPriceFacet> listPriceFacets();
 
 }
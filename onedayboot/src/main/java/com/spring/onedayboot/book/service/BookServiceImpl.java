@@ -2,28 +2,49 @@ package com.spring.onedayboot.book.service;
 
 import com.spring.onedayboot.book.dto.*;
 import com.spring.onedayboot.book.entity.Book;
+import com.spring.onedayboot.book.event.BookChangedEvent;
 import com.spring.onedayboot.book.repository.BookRepository;
+import com.spring.onedayboot.book.search.BookSearchIndex;
+import com.spring.onedayboot.common.datasource.ReadFromPrimary;
+import com.spring.onedayboot.common.datasource.ReadYourWrites;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("book.service")
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
 
     private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int COMMENT_PAGE_SIZE = 20;
 
     // 생성자 주입을 이용하여 BookRepository 객체를 주입받습니다.
     private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookPriceHistogram bookPriceHistogram;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 책을 등록한다.
@@ -31,11 +52,13 @@ public class BookServiceImpl implements BookService {
      * @return 등록된 책의 id
      */
     @Override
+    @ReadYourWrites
     @Transactional
     public Long createBook(BookCreateRequest request) {
         try {
             Book book = request.toEntity();
             Book savedBook = this.bookRepository.save(book);
+            this.eventPublisher.publishEvent(BookChangedEvent.saved(savedBook));
             return savedBook.getBookId();
         } catch (DataAccessException e) {
             throw new RuntimeException("책 정보 저장에 실패했습니다.", e);
@@ -43,25 +66,54 @@ public class BookServiceImpl implements BookService {
     }
 
     /**
-     * 책을 조회한다.
+     * 책을 조회한다. 조회 결과는 캐시되어 모든 사용자가 함께 읽으므로 replica 가 아닌 primary 에서 읽는다.
      * @param bookId 조회할 책의 id
      * @return 조회된 책 정보를 담은 DTO
      * @throws NoSuchElementException 조회된 책이 없을 때
      */
     @Override
+    @ReadFromPrimary
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "bookRead", key = "#bookId")
     public BookReadResponse readBook(Long bookId) throws NoSuchElementException {
-        Book book = this.bookRepository.findById(bookId)
-                .orElseThrow(() -> new NoSuchElementException("책 정보를 찾을 수 없습니다."));
-        return BookReadResponse.fromBook(book);
+        // 책과 코멘트 첫 페이지를 한 번에 조회하고 나머지는 /comment/list 로 이어서 조회
+        List<BookCommentRow> rows = this.bookRepository.findWithFirstCommentsByBookId(bookId, Limit.of(COMMENT_PAGE_SIZE + 1));
+        if (rows.isEmpty()) {
+            throw new NoSuchElementException("책 정보를 찾을 수 없습니다.");
+        }
+        return BookReadResponse.fromRows(rows, COMMENT_PAGE_SIZE);
+    }
+
+    /**
+     * 책 목록 화면의 ETag 와 마지막 수정 시각을 조회한다.
+     * 목록을 조회하지 않고 조건에 맞는 책의 수와 등록일, 수정일, 마지막 코멘트 등록일의 최댓값만 집계한다.
+     * 화면에 함께 보이는 가격대별 책 수도 ETag 에 덧붙여, 다른 책이 바뀌어 가격대별 책 수가 달라지면 다시 그리도록 한다.
+     * @param title 검색할 책 제목
+     * @param minPrice 최소 가격 (포함, 비어있으면 제한 없음)
+     * @param maxPrice 최대 가격 (제외, 비어있으면 제한 없음)
+     * @return 조회된 검증 값
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BookCacheValidator readBookListCacheValidator(String title, Long minPrice, Long maxPrice) {
+        BookCacheValidator validator = this.bookRepository.findListCacheValidator(
+                title == null || title.isBlank() ? null : title.trim().toLowerCase(Locale.ROOT),
+                minPrice != null ? minPrice : 0L,
+                maxPrice != null ? maxPrice : Long.MAX_VALUE);
+        return validator.withETagSuffix(this.bookPriceHistogram.facets().stream()
+                .map(facet -> Long.toString(facet.getCount()))
+                .collect(Collectors.joining(".")));
     }
 
     /**
-     * 수정할 책을 조회한다.
+     * 수정할 책을 조회한다. 책 조회와 같은 이유로 primary 에서 읽는다.
      * @param bookId 수정할 책의 id
      * @return 수정할 책의 정보를 담은 DTO
      * @throws NoSuchElementException 수정할 책이 없을 때
      */
     @Override
+    @ReadFromPrimary
+    @Cacheable(cacheNames = "bookEdit", key = "#bookId")
     public BookEditResponse editBook(Long bookId) throws NoSuchElementException {
         Book book = this.bookRepository.findById(bookId)
                 .orElseThrow(() -> new NoSuchElementException("책 정보를 찾을 수 없습니다."));
@@ -69,43 +121,71 @@ public class BookServiceImpl implements BookService {
     }
 
     /**
-     * 책 정보를 수정한다.
+     * 책 정보를 수정한다. 조회 없이 버전이 일치할 때만 한 번의 UPDATE 문으로 수정한다.
+     * 버전이 일치하면 행은 수정 화면을 그릴 때와 같으므로, 가격대별 책 수에서 뺄 수정 전 가격은 화면이 함께 보낸 값을 쓴다.
+     * 값이 없거나 어긋나면 BookPriceHistogram 이 주기적으로 DB 와 맞춘다.
      * @param request 수정할 책 정보를 담은 DTO
      * @throws NoSuchElementException 수정할 책이 없을 때
+     * @throws OptimisticLockingFailureException 다른 사용자가 먼저 수정했을 때
      */
     @Override
-    public void updateBook(BookUpdateRequest request) throws NoSuchElementException {
-        Book book = this.bookRepository.findById(request.getBookId())
-                .orElseThrow(() -> new NoSuchElementException("책 정보를 찾을 수 없습니다."));
-        Book updatedBook = request.update(book);
-        this.bookRepository.save(updatedBook);
+    @ReadYourWrites
+    @Transactional
+    @CacheEvict(cacheNames = {"bookRead", "bookEdit"}, key = "#request.bookId")
+    public void updateBook(BookUpdateRequest request) throws NoSuchElementException, OptimisticLockingFailureException {
+        int updated = this.bookRepository.updateIfVersionMatches(
+                request.getBookId(), request.getVersion(), request.getTitle(), request.getPrice(), LocalDateTime.now());
+        if (updated == 0) {
+            // 실패한 경우에만 책이 있는지 확인하여 원인을 구분
+            if (!this.bookRepository.existsById(request.getBookId())) {
+                throw new NoSuchElementException("책 정보를 찾을 수 없습니다.");
+            }
+            throw new OptimisticLockingFailureException("다른 사용자가 먼저 책 정보를 수정했습니다.");
+        }
+        this.eventPublisher.publishEvent(
+                BookChangedEvent.updated(request.getBookId(), request.getTitle(), request.getPrice(), request.getPreviousPrice()));
     }
 
     /**
      * 책을 삭제한다.
+     * 삭제 시각만 기록하고, 책과 코멘트는 BookPurgeJob 이 나중에 물리 삭제한다.
      * @param bookId 삭제할 책의 id
      * @throws NoSuchElementException 삭제할 책이 없을 때
      */
     @Override
+    @ReadYourWrites
+    @Transactional
+    @CacheEvict(cacheNames = {"bookRead", "bookEdit"}, key = "#bookId")
     public void deleteBook(Long bookId) throws NoSuchElementException {
-        Book book = this.bookRepository.findById(bookId)
-                .orElseThrow(() -> new NoSuchElementException("책 정보를 찾을 수 없습니다."));
-        this.bookRepository.delete(book);
+        if (this.bookRepository.softDelete(bookId, LocalDateTime.now()) == 0) {
+            throw new NoSuchElementException("책 정보를 찾을 수 없습니다.");
+        }
+        // 삭제한 행은 이 트랜잭션이 잠그고 있으므로 삭제 시점의 가격을 읽는다
+        Long previousPrice = this.bookRepository.findPriceIncludingDeleted(bookId).orElse(null);
+        this.eventPublisher.publishEvent(BookChangedEvent.deleted(bookId, previousPrice));
     }
 
     /**
      * 책을 검색한다.
+     * 읽기 전용 트랜잭션에서 실행되어 flush 와 변경 감지용 스냅샷 없이 조회한다.
      * @param title 검색할 책 제목
+     * @param minPrice 최소 가격 (포함, 비어있으면 제한 없음)
+     * @param maxPrice 최대 가격 (제외, 비어있으면 제한 없음)
      * @param page 페이지 번호
      * @param size 페이지 크기
      * @param direction 정렬 방향
+     * @param sort 정렬 기준 (제목 검색 시에는 관련도 순)
      * @return 검색된 책 정보를 담은 DTO 리스트
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BookListResponse> searchBooks(String title,
+                                              Long minPrice,
+                                              Long maxPrice,
                                               Integer page,
                                               Integer size,
-                                              Sort.Direction direction) {
+                                              Sort.Direction direction,
+                                              BookListSort sort) {
 
         // 페이지 번호 기본값
         if (page == null || page < 0) {
@@ -125,21 +205,131 @@ public class BookServiceImpl implements BookService {
             direction = Sort.Direction.ASC;
         }
 
-        // createdAt 필드를 기준으로 정렬
-        Sort sort = Sort.by(direction, "createdAt");
+        // 정렬 기준 기본값
+        if (sort == null) {
+            sort = BookListSort.LATEST;
+        }
+
+        boolean priceFiltered = minPrice != null || maxPrice != null;
+        long min = minPrice != null ? minPrice : 0L;
+        long max = maxPrice != null ? maxPrice : Long.MAX_VALUE;
+
+        // 제목 검색은 DB 대신 검색 색인에서 관련도 순으로 조회
+        if (title != null && !title.isBlank()) {
+            if (!this.bookSearchIndex.isReady()) {
+                // 시작 직후 색인을 처음 만드는 동안에는 DB 에서 등록일 순으로 조회
+                Pageable pageable = PageRequest.of(page, size, Sort.by(direction, "createdAt"));
+                return this.bookRepository.findListByTitleContainingAndPriceGreaterThanEqualAndPriceLessThan(title, min, max, pageable)
+                        .stream()
+                        .map(BookListResponse::fromView)
+                        .toList();
+            }
+            return findListByIds(this.bookSearchIndex.search(title, min, max, page * size, size, direction));
+        }
+
+        // 정렬 기준 필드로 정렬, 코멘트 수 정렬은 (comment_count, book_id) 인덱스를 사용
+        Sort order = sort == BookListSort.POPULARITY
+                ? Sort.by(direction, sort.getProperty(), "bookId")
+                : Sort.by(direction, sort.getProperty());
 
         // of 메서드를 사용하여 Pageable 객체를 생성
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = PageRequest.of(page, size, order);
 
-        Page<Book> bookPage;
+        // 엔티티 대신 목록에 필요한 컬럼만 DTO 로 조회
+        if (priceFiltered) {
+            return this.bookRepository.findListByPriceRange(min, max, pageable);
+        }
+        return this.bookRepository.findListBy(pageable);
+    }
+
+    /**
+     * 커서를 기준으로 책을 검색한다. count 쿼리 없이 다음 페이지만 조회한다.
+     * @param title 검색할 책 제목
+     * @param minPrice 최소 가격 (포함, 비어있으면 제한 없음)
+     * @param maxPrice 최대 가격 (제외, 비어있으면 제한 없음)
+     * @param cursor 이전 페이지의 마지막 위치를 나타내는 커서 (비어있으면 첫 페이지)
+     * @param size 페이지 크기
+     * @param direction 정렬 방향
+     * @param sort 정렬 기준 (등록일 순만 지원)
+     * @return 검색된 책 정보와 다음 커서를 담은 DTO
+     * @throws IllegalArgumentException 커서 형식이 올바르지 않거나 커서로 조회할 수 없는 정렬 기준일 때
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BookSliceResponse scrollBooks(String title,
+                                         Long minPrice,
+                                         Long maxPrice,
+                                         String cursor,
+                                         Integer size,
+                                         Sort.Direction direction,
+                                         BookListSort sort) throws IllegalArgumentException {
+
+        // 코멘트 수는 페이지를 넘기는 사이에도 바뀌므로 키셋 기준으로 쓰면 책이 중복되거나 누락된다
+        if (sort != null && sort != BookListSort.LATEST) {
+            throw new IllegalArgumentException("커서 조회는 등록일 순 정렬만 지원합니다.");
+        }
+
+        // 페이지 당 아이템 수 기본값
+        if (size == null || size <= 0) {
+            size = DEFAULT_PAGE_SIZE;
+        }
+
+        // 정렬 방향 기본값
+        if (direction == null) {
+            direction = Sort.Direction.ASC;
+        }
+
+        // createdAt 이 같은 책을 구분하기 위해 bookId 를 함께 정렬 기준으로 사용
+        Sort order = Sort.by(direction, "createdAt", "bookId");
+        ScrollPosition position = BookCursor.decode(cursor);
+
+        boolean priceFiltered = minPrice != null || maxPrice != null;
+        long min = minPrice != null ? minPrice : 0L;
+        long max = maxPrice != null ? maxPrice : Long.MAX_VALUE;
+
+        Window<BookListView> bookWindow;
         if (title == null || title.isEmpty()) {
-            bookPage = this.bookRepository.findAll(pageable);
+            bookWindow = priceFiltered
+                    ? this.bookRepository.findListByPriceGreaterThanEqualAndPriceLessThan(min, max, position, Limit.of(size), order)
+                    : this.bookRepository.findListBy(position, Limit.of(size), order);
         } else {
-            bookPage = this.bookRepository.findByTitleContaining(title, pageable);
+            bookWindow = priceFiltered
+                    ? this.bookRepository.findListByTitleContainingAndPriceGreaterThanEqualAndPriceLessThan(
+                            title, min, max, position, Limit.of(size), order)
+                    : this.bookRepository.findListByTitleContaining(title, position, Limit.of(size), order);
         }
 
-        return bookPage.stream()
-                .map(BookListResponse::fromBook)
-                .collect(Collectors.toList());
+        List<BookListView> books = bookWindow.getContent();
+        boolean hasNext = bookWindow.hasNext() && !books.isEmpty();
+        return BookSliceResponse.builder()
+                .books(books.stream().map(BookListResponse::fromView).toList())
+                .nextCursor(hasNext ? BookCursor.encode(books.get(books.size() - 1)) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * 책 목록의 가격대별 책 수를 조회한다. DB 를 조회하지 않고 메모리에 유지하는 값을 반환한다.
+     * @return 가격 순으로 정렬된 가격대별 책 수
+     */
+    @Override
+    public List<BookPriceFacet> listPriceFacets() {
+        return this.bookPriceHistogram.facets();
+    }
+
+    /**
+     * 검색 색인에서 찾은 책 id 로 목록 컬럼을 한 번에 조회하고 검색 순서대로 정렬한다.
+     * 색인에는 자주 바뀌는 코멘트 수를 두지 않으므로 DB 에서 최신 값을 읽는다.
+     */
+    private List<BookListResponse> findListByIds(List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookListResponse> books = this.bookRepository.findListByBookIdIn(bookIds).stream()
+                .collect(Collectors.toMap(BookListResponse::getBookId, Function.identity()));
+        return bookIds.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 }
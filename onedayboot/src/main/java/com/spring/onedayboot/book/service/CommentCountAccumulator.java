@@ -0,0 +1,124 @@
+package com.spring.onedayboot.book.service;
+
+import com.spring.onedayboot.book.repository.BookRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 코멘트가 몰리는 책의 코멘트 수를 메모리에 모았다가 주기적으로 한 번의 UPDATE 문으로 반영한다.
+ * <p>
+ * 직전 주기에 코멘트가 comment.counter.hot-threshold 건 이상 등록된 책만 모으고,
+ * 나머지 책은 코멘트를 등록할 때마다 바로 UPDATE 한다.
+ * 같은 책의 UPDATE 가 한 행의 잠금을 두고 경쟁하지 않도록 하기 위함이다.
+ */
+@Slf4j
+@Component
+public class CommentCountAccumulator {
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long hotThreshold;
+
+    // 주기마다 책별 코멘트 등록 수 (핫 여부 판단용)
+    private final Map<Long, LongAdder> activity = new ConcurrentHashMap<>();
+    // 아직 DB 에 반영하지 않은 핫 책의 코멘트 수
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> pendingLastCommentedAt = new ConcurrentHashMap<>();
+    // 핫 상태에서 벗어나 다음 주기에 정리할 책
+    private final Set<Long> retiring = ConcurrentHashMap.newKeySet();
+    private volatile Set<Long> hotBooks = Set.of();
+
+    public CommentCountAccumulator(BookRepository bookRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${comment.counter.hot-threshold:20}") long hotThreshold) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.hotThreshold = hotThreshold;
+    }
+
+    /**
+     * 코멘트 등록을 기록하고, 핫 책이면 코멘트 수 증가를 메모리에 모은다.
+     * @param bookId 코멘트가 등록된 책의 id
+     * @param commentedAt 코멘트 등록일
+     * @return 메모리에 모았으면 true, 호출한 쪽에서 바로 UPDATE 해야 하면 false
+     */
+    public boolean accumulate(Long bookId, LocalDateTime commentedAt) {
+        this.activity.computeIfAbsent(bookId, key -> new LongAdder()).increment();
+        if (!this.hotBooks.contains(bookId)) {
+            return false;
+        }
+        this.pending.computeIfAbsent(bookId, key -> new LongAdder()).increment();
+        this.pendingLastCommentedAt.merge(bookId, commentedAt, (a, b) -> a.isAfter(b) ? a : b);
+        return true;
+    }
+
+    /**
+     * 모아둔 코멘트 수를 DB 에 반영하고 다음 주기의 핫 책을 정한다.
+     */
+    @Scheduled(fixedDelayString = "${comment.counter.flush-interval:1000}")
+    public void flush() {
+        // 지난 주기에 핫 상태에서 벗어난 책은 이번 주기에 남은 값을 반영하고 정리
+        for (Long bookId : this.retiring) {
+            LongAdder adder = this.pending.remove(bookId);
+            if (adder != null) {
+                apply(bookId, adder.sumThenReset(), this.pendingLastCommentedAt.remove(bookId));
+            }
+        }
+        this.retiring.clear();
+
+        for (Map.Entry<Long, LongAdder> entry : this.pending.entrySet()) {
+            apply(entry.getKey(), entry.getValue().sumThenReset(), this.pendingLastCommentedAt.get(entry.getKey()));
+        }
+
+        Set<Long> nextHotBooks = ConcurrentHashMap.newKeySet();
+        this.activity.forEach((bookId, adder) -> {
+            if (adder.sumThenReset() >= this.hotThreshold) {
+                nextHotBooks.add(bookId);
+            }
+        });
+        this.activity.clear();
+
+        for (Long bookId : this.hotBooks) {
+            if (!nextHotBooks.contains(bookId)) {
+                this.retiring.add(bookId);
+            }
+        }
+        this.hotBooks = Set.copyOf(nextHotBooks);
+    }
+
+    @PreDestroy
+    public void close() {
+        this.hotBooks = Set.of();
+        this.retiring.addAll(this.pending.keySet());
+        flush();
+    }
+
+    private void apply(Long bookId, long delta, LocalDateTime lastCommentedAt) {
+        if (delta <= 0) {
+            return;
+        }
+        try {
+            this.transactionTemplate.executeWithoutResult(status ->
+                    this.bookRepository.incrementCommentCount(bookId, delta, lastCommentedAt));
+        } catch (DataAccessException | TransactionException e) {
+            // 반영하지 못한 값은 다음 주기에 다시 반영, 핫 상태에서 벗어나며 꺼낸 등록일도 함께 되돌린다
+            this.pending.computeIfAbsent(bookId, key -> new LongAdder()).add(delta);
+            if (lastCommentedAt != null) {
+                this.pendingLastCommentedAt.merge(bookId, lastCommentedAt, (a, b) -> a.isAfter(b) ? a : b);
+            }
+            log.warn("코멘트 수를 반영하지 못했습니다: bookId={}", bookId, e);
+        }
+    }
+}
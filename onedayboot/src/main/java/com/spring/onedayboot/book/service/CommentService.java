@@ -1,14 +1,24 @@
 package com.spring.onedayboot.book.service;
 
 import com.spring.onedayboot.book.dto.CommentCreateRequest;
-import com.spring.onedayboot.book.dto.CommentReadResponse;
+import com.spring.onedayboot.book.dto.CommentCreateResult;
+import com.spring.onedayboot.book.dto.CommentSliceResponse;
 
 public interface CommentService {
 
     /**
-     * 코멘트를 등록한다.
+     * 코멘트를 등록한다. 빈도 제한과 쓰기 지연 모드를 함께 처리한다.
      * @param request 코멘트 등록 정보를 담은 DTO
-     * @return 등록된 코멘트의 id
+     * @return 처리 결과 (201 저장, 202 큐에 넣음, 429 거부)
      */
-    public CommentReadResponse createComment(CommentCreateRequest request);
+    public CommentCreateResult createComment(CommentCreateRequest request);
+
+    /**
+     * 책의 코멘트 목록을 커서 기준으로 조회한다.
+     * @param bookId 코멘트를 조회할 책의 id
+     * @param cursor 이전 페이지의 마지막 코멘트 id (null 이면 첫 페이지)
+     * @param size 페이지 크기
+     * @return 조회된 코멘트 목록과 다음 커서를 담은 DTO
+     */
+    public CommentSliceResponse listComments(Long bookId, Long cursor, Integer size);
 }
@@ -1,32 +1,135 @@
 package com.spring.onedayboot.book.service;
 
 import com.spring.onedayboot.book.dto.CommentCreateRequest;
+import com.spring.onedayboot.book.dto.CommentCreateResult;
+import com.spring.onedayboot.book.dto.CommentListResponse;
 import com.spring.onedayboot.book.dto.CommentReadResponse;
+import com.spring.onedayboot.book.dto.CommentSliceResponse;
 import com.spring.onedayboot.book.entity.Book;
 import com.spring.onedayboot.book.entity.Comment;
+import com.spring.onedayboot.book.event.CommentCreatedEvent;
 import com.spring.onedayboot.book.repository.BookRepository;
 import com.spring.onedayboot.book.repository.CommentRepository;
-import lombok.RequiredArgsConstructor;
+import com.spring.onedayboot.common.datasource.ReadYourWrites;
+import com.spring.onedayboot.common.ratelimit.RateLimiter;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
 
 @Service
-@RequiredArgsConstructor
+@Timed("comment.service")
 public class CommentServiceImpl implements CommentService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final BookRepository bookRepository;
     private final CommentRepository commentRepository;
+    private final CommentCountAccumulator commentCountAccumulator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final CommentWriteBehindQueue commentWriteBehindQueue;
+    private final RateLimiter commentRateLimiter;
+
+    public CommentServiceImpl(BookRepository bookRepository,
+                              CommentRepository commentRepository,
+                              CommentCountAccumulator commentCountAccumulator,
+                              ApplicationEventPublisher eventPublisher,
+                              TransactionTemplate transactionTemplate,
+                              ObjectProvider<CommentWriteBehindQueue> commentWriteBehindQueue,
+                              ObjectProvider<RateLimiter> commentRateLimiter) {
+        this.bookRepository = bookRepository;
+        this.commentRepository = commentRepository;
+        this.commentCountAccumulator = commentCountAccumulator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.commentWriteBehindQueue = commentWriteBehindQueue.getIfAvailable();
+        this.commentRateLimiter = commentRateLimiter.getIfAvailable();
+    }
 
     /**
-     * 코멘트를 등록한다.
+     * 코멘트를 등록한다. 커밋 후 책의 코멘트 피드 구독자에게 전달된다.
+     * 같은 책에 코멘트가 제한 빈도를 넘어 등록되면 저장하지 않고 429 결과를 반환한다.
+     * 쓰기 지연 모드에서는 큐에 넣고 바로 202 결과를 반환하며, 큐가 가득 차면 429 결과를 반환한다.
+     * 빈도 제한에 걸리거나 큐에 넣기만 할 때는 DB 커넥션을 얻지 않도록 저장할 때만 트랜잭션을 시작한다.
      * @param request 코멘트 등록 정보를 담은 DTO
-     * @return 등록된 코멘트의 id
+     * @return 처리 결과
      */
     @Override
-    public CommentReadResponse createComment(CommentCreateRequest request) {
+    @ReadYourWrites
+    @CacheEvict(cacheNames = "bookRead", key = "#request.bookId", condition = "#result.created")
+    public CommentCreateResult createComment(CommentCreateRequest request) {
+        if (this.commentRateLimiter != null) {
+            long retryAfter = this.commentRateLimiter.tryAcquire(String.valueOf(request.getBookId()));
+            if (retryAfter > 0) {
+                return CommentCreateResult.rejected(retryAfter);
+            }
+        }
+        if (this.commentWriteBehindQueue != null) {
+            return this.commentWriteBehindQueue.offer(request)
+                    ? CommentCreateResult.accepted(CommentReadResponse.fromRequest(request))
+                    : CommentCreateResult.rejected(1);
+        }
+        return CommentCreateResult.created(this.transactionTemplate.execute(status -> save(request)));
+    }
+
+    private CommentReadResponse save(CommentCreateRequest request) {
         Book book = this.bookRepository.findById(request.getBookId())
                 .orElseThrow(() -> new IllegalArgumentException("책 정보를 찾을 수 없습니다."));
         Comment comment = request.toEntity(book);
         comment = this.commentRepository.save(comment);
+
+        // 코멘트가 몰리는 책은 메모리에 모았다가 반영하고, 그 외에는 바로 코멘트 수를 증가
+        if (!this.commentCountAccumulator.accumulate(book.getBookId(), comment.getCreatedAt())) {
+            this.bookRepository.incrementCommentCount(book.getBookId(), 1, comment.getCreatedAt());
+        }
+        this.eventPublisher.publishEvent(new CommentCreatedEvent(book.getBookId(), CommentListResponse.fromComment(comment)));
         return CommentReadResponse.fromComment(comment);
     }
+
+    /**
+     * 책의 코멘트 목록을 커서 기준으로 조회한다.
+     * @param bookId 코멘트를 조회할 책의 id
+     * @param cursor 이전 페이지의 마지막 코멘트 id (null 이면 첫 페이지)
+     * @param size 페이지 크기
+     * @return 조회된 코멘트 목록과 다음 커서를 담은 DTO
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CommentSliceResponse listComments(Long bookId, Long cursor, Integer size) {
+
+        // 페이지 당 아이템 수 기본값, 한 번에 메모리에 올리는 양을 제한
+        if (size == null || size <= 0) {
+            size = DEFAULT_PAGE_SIZE;
+        } else if (size > MAX_PAGE_SIZE) {
+            size = MAX_PAGE_SIZE;
+        }
+
+        // commentId 는 등록 순서대로 증가하므로 그대로 커서로 사용
+        ScrollPosition position = cursor == null
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(Map.of("commentId", cursor));
+
+        Window<Comment> commentWindow = this.commentRepository.findByBookBookId(
+                bookId, position, Limit.of(size), Sort.by(Sort.Direction.ASC, "commentId"));
+
+        List<Comment> comments = commentWindow.getContent();
+        boolean hasNext = commentWindow.hasNext() && !comments.isEmpty();
+        return CommentSliceResponse.builder()
+                .comments(comments.stream().map(CommentListResponse::fromComment).toList())
+                .nextCursor(hasNext ? comments.get(comments.size() - 1).getCommentId() : null)
+                .hasNext(hasNext)
+                .build();
+    }
 }
@@ -0,0 +1,449 @@
+package com.spring.onedayboot.book.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.onedayboot.book.dto.CommentCreateRequest;
+import com.spring.onedayboot.book.dto.CommentListResponse;
+import com.spring.onedayboot.book.event.CommentCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 코멘트 등록 요청을 메모리 큐에 쌓아 두고 백그라운드에서 batch insert 로 저장한다.
+ * <p>
+ * 큐에 넣기 전에 요청을 로컬 스풀 파일에 먼저 기록하고, DB 에 저장된 위치를 체크포인트 파일에 남긴다.
+ * 재시작하면 체크포인트 이후의 요청을 다시 저장하므로 프로세스가 종료되어도 접수된 코멘트는 유실되지 않는다.
+ * 재시작 후 복구는 기동을 막지 않도록 저장 스레드에서 실행하고, 복구가 끝날 때까지 새 요청은 받지 않는다.
+ * 배치가 커밋되면 저장된 행마다 생성된 comment_id 로 CommentCreatedEvent 를 발행하여 코멘트 피드 구독자에게도 전달한다.
+ * comment.write-behind.enabled=true 일 때만 활성화된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "comment.write-behind.enabled", havingValue = "true")
+public class CommentWriteBehindQueue implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "INSERT INTO comment (book_id, comment, page, created_at) VALUES (?, ?, ?, ?)";
+    private static final String INCREMENT_SQL = "UPDATE book SET comment_count = comment_count + ?, last_commented_at = ? WHERE book_id = ?";
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter rejectedCounter;
+    private final BlockingQueue<QueuedComment> queue;
+    private final int batchSize;
+    private final Path spoolFile;
+    private final Path checkpointFile;
+
+    // 스풀 파일 기록과 큐 삽입 순서를 맞추기 위한 잠금 (가상 스레드 고정을 피하기 위해 synchronized 대신 사용)
+    private final ReentrantLock spoolLock = new ReentrantLock();
+
+    private FileChannel spoolChannel;
+    private long committedOffset;
+    private Thread writerThread;
+    private volatile boolean running;
+    // 스풀 파일 복구가 끝나 새 요청을 받을 수 있는지 여부
+    private volatile boolean accepting;
+
+    public CommentWriteBehindQueue(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   Validator validator,
+                                   ObjectMapper objectMapper,
+                                   CacheManager cacheManager,
+                                   ApplicationEventPublisher eventPublisher,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${comment.write-behind.capacity:10000}") int capacity,
+                                   @Value("${comment.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${comment.write-behind.spool-file:${user.home}/onedayboot-comment-spool.ndjson}") String spoolFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.spoolFile = Path.of(spoolFile);
+        this.checkpointFile = Path.of(spoolFile + ".offset");
+        this.rejectedCounter = Counter.builder("comment.write_behind.rejected")
+                .description("Comments rejected because the write-behind queue was full")
+                .register(meterRegistry);
+        Gauge.builder("comment.write_behind.queue.size", this.queue, BlockingQueue::size)
+                .description("Comments waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 코멘트 등록 요청을 검증하고 큐에 넣는다.
+     * 접수한 뒤에는 저장 실패를 응답할 수 없으므로 comment 테이블의 컬럼 제약(길이, NOT NULL)까지 여기서 검증한다.
+     * @param request 코멘트 등록 정보를 담은 DTO
+     * @return 큐가 가득 찼거나, 복구 중이거나, 종료 중이면 false
+     * @throws IllegalArgumentException 요청이 올바르지 않을 때
+     */
+    public boolean offer(CommentCreateRequest request) throws IllegalArgumentException {
+        validate(request);
+        if (!this.accepting) {
+            this.rejectedCounter.increment();
+            return false;
+        }
+
+        this.spoolLock.lock();
+        try {
+            if (this.queue.remainingCapacity() == 0) {
+                this.rejectedCounter.increment();
+                return false;
+            }
+            SpooledComment comment = new SpooledComment(request.getBookId(), request.getComment(), request.getPage(), LocalDateTime.now());
+            long endOffset = append(comment);
+            this.queue.add(new QueuedComment(comment, endOffset));
+            return true;
+        } finally {
+            this.spoolLock.unlock();
+        }
+    }
+
+    /**
+     * 스풀 파일을 열고 저장 스레드를 시작한다.
+     * DB 가 내려가 있어도 기동이 끝나도록 복구는 저장 스레드에서 재시도 간격을 늘려가며 실행한다.
+     */
+    @Override
+    public void start() {
+        try {
+            Files.createDirectories(this.spoolFile.toAbsolutePath().getParent());
+            this.spoolChannel = FileChannel.open(this.spoolFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("코멘트 스풀 파일을 열 수 없습니다.", e);
+        }
+        this.running = true;
+        this.writerThread = new Thread(this::recoverAndDrain, "comment-write-behind");
+        // 저장하지 못한 코멘트는 스풀 파일에 남아 다음 기동 때 복구되므로 JVM 종료를 막지 않는다
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * 새 요청을 받지 않고, 큐에 남은 코멘트를 모두 저장한 뒤 종료한다.
+     * 아직 복구 중이면 복구를 중단하고, 남은 코멘트는 다음 기동 때 복구한다.
+     */
+    @Override
+    public void stop() {
+        this.running = false;
+        if (!this.accepting) {
+            this.writerThread.interrupt();
+        }
+        this.accepting = false;
+        try {
+            this.writerThread.join(TimeUnit.SECONDS.toMillis(30));
+            this.spoolChannel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("코멘트 스풀 파일을 닫지 못했습니다.", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * 웹 서버가 종료되어 더 이상 요청이 들어오지 않은 뒤에 종료되도록 웹 서버보다 낮은 단계를 사용한다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void recoverAndDrain() {
+        try {
+            recover();
+        } catch (IOException e) {
+            log.error("코멘트 스풀 파일을 복구하지 못해 코멘트를 받지 않습니다.", e);
+            return;
+        }
+        this.accepting = this.running;
+        drain();
+    }
+
+    private void drain() {
+        List<QueuedComment> batch = new ArrayList<>(this.batchSize);
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                QueuedComment first = this.queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    compactIfIdle();
+                    continue;
+                }
+                batch.add(first);
+                this.queue.drainTo(batch, this.batchSize - 1);
+                write(batch.stream().map(QueuedComment::comment).toList());
+                checkpoint(batch.get(batch.size() - 1).endOffset());
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.error("코멘트 스풀 체크포인트를 기록하지 못했습니다.", e);
+            }
+        }
+    }
+
+    /**
+     * 코멘트를 하나의 batch insert 로 저장한다.
+     * 무결성 오류(삭제된 책 등)가 있으면 한 건씩 다시 저장하여 해당 코멘트만 버리고,
+     * 그 밖의 DB 오류는 재시도 간격을 최대 30초까지 두 배씩 늘려가며 저장될 때까지 재시도한다.
+     */
+    private void write(List<SpooledComment> comments) throws InterruptedException {
+        if (comments.isEmpty()) {
+            return;
+        }
+        long delay = RETRY_DELAY_MILLIS;
+        while (true) {
+            try {
+                List<CommentCreatedEvent> events = this.transactionTemplate.execute(status -> insert(comments));
+                evict(comments);
+                publish(events);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                List<CommentCreatedEvent> events = new ArrayList<>(comments.size());
+                for (SpooledComment comment : comments) {
+                    events.addAll(writeOne(comment));
+                }
+                evict(comments);
+                publish(events);
+                return;
+            } catch (DataAccessException e) {
+                log.warn("코멘트 저장에 실패하여 {}ms 후 재시도합니다.", delay, e);
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    private List<CommentCreatedEvent> writeOne(SpooledComment comment) throws InterruptedException {
+        long delay = RETRY_DELAY_MILLIS;
+        while (true) {
+            try {
+                return this.transactionTemplate.execute(status -> insert(List.of(comment)));
+            } catch (DataIntegrityViolationException e) {
+                log.warn("코멘트를 저장할 수 없어 버립니다: bookId={}", comment.bookId(), e);
+                return List.of();
+            } catch (DataAccessException e) {
+                log.warn("코멘트 저장에 실패하여 {}ms 후 재시도합니다.", delay, e);
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * 코멘트를 저장하고, 커밋 후 발행할 이벤트를 생성된 comment_id 로 만들어 반환한다.
+     */
+    private List<CommentCreatedEvent> insert(List<SpooledComment> comments) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        this.jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"comment_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        SpooledComment comment = comments.get(i);
+                        ps.setLong(1, comment.bookId());
+                        ps.setString(2, comment.comment());
+                        ps.setObject(3, comment.page());
+                        ps.setTimestamp(4, Timestamp.valueOf(comment.createdAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return comments.size();
+                    }
+                }, keyHolder);
+
+        // 같은 책의 코멘트를 묶어 책마다 한 번만 코멘트 수를 증가
+        Map<Long, List<SpooledComment>> byBook = comments.stream()
+                .collect(Collectors.groupingBy(SpooledComment::bookId));
+        this.jdbcTemplate.batchUpdate(INCREMENT_SQL, byBook.entrySet(), byBook.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getValue().size());
+            ps.setTimestamp(2, Timestamp.valueOf(entry.getValue().stream()
+                    .map(SpooledComment::createdAt)
+                    .max(LocalDateTime::compareTo)
+                    .orElseThrow()));
+            ps.setLong(3, entry.getKey());
+        });
+
+        // 생성된 키는 행을 넣은 순서대로 반환된다
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<CommentCreatedEvent> events = new ArrayList<>(comments.size());
+        for (int i = 0; i < comments.size(); i++) {
+            SpooledComment comment = comments.get(i);
+            Long commentId = ((Number) keys.get(i).values().iterator().next()).longValue();
+            events.add(new CommentCreatedEvent(comment.bookId(),
+                    CommentListResponse.of(commentId, comment.comment(), comment.page(), comment.createdAt())));
+        }
+        return events;
+    }
+
+    /**
+     * 커밋된 코멘트를 CommentServiceImpl 과 같은 이벤트로 발행하여 피드 구독자에게 전달한다.
+     */
+    private void publish(List<CommentCreatedEvent> events) {
+        events.forEach(this.eventPublisher::publishEvent);
+    }
+
+    private void evict(List<SpooledComment> comments) {
+        Cache cache = this.cacheManager.getCache("bookRead");
+        if (cache != null) {
+            comments.stream().map(SpooledComment::bookId).distinct().forEach(cache::evict);
+        }
+    }
+
+    /**
+     * 스풀 파일에서 아직 저장되지 않은 코멘트를 저장하고 스풀 파일을 비운다.
+     */
+    private void recover() throws IOException {
+        long offset = Files.exists(this.checkpointFile)
+                ? Long.parseLong(Files.readString(this.checkpointFile).trim())
+                : 0;
+        List<SpooledComment> batch = new ArrayList<>(this.batchSize);
+        long recovered = 0;
+        this.spoolChannel.position(offset);
+        BufferedReader reader = new BufferedReader(Channels.newReader(this.spoolChannel, StandardCharsets.UTF_8));
+        String line;
+        try {
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(this.objectMapper.readValue(line, SpooledComment.class));
+                if (batch.size() == this.batchSize) {
+                    write(batch);
+                    recovered += batch.size();
+                    batch.clear();
+                }
+            }
+            write(batch);
+            recovered += batch.size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("코멘트 스풀 복구가 중단되었습니다.", e);
+        }
+        if (recovered > 0) {
+            log.info("스풀 파일에서 코멘트 {}건을 복구했습니다.", recovered);
+        }
+        this.spoolChannel.truncate(0);
+        checkpoint(0);
+    }
+
+    private long append(SpooledComment comment) {
+        try {
+            byte[] line = (this.objectMapper.writeValueAsString(comment) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            long position = this.spoolChannel.size();
+            while (buffer.hasRemaining()) {
+                position += this.spoolChannel.write(buffer, position);
+            }
+            return position;
+        } catch (IOException e) {
+            throw new UncheckedIOException("코멘트를 스풀 파일에 기록하지 못했습니다.", e);
+        }
+    }
+
+    /**
+     * 저장된 위치를 체크포인트 파일에 기록한다.
+     * 기록 도중 종료되어 파일이 비거나 잘리지 않도록 임시 파일에 기록하고 디스크에 반영한 뒤 원자적으로 교체한다.
+     */
+    private void checkpoint(long offset) throws IOException {
+        Path tempFile = this.checkpointFile.resolveSibling(this.checkpointFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Long.toString(offset).getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tempFile, this.checkpointFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        this.committedOffset = offset;
+    }
+
+    /**
+     * 큐가 비어 있고 모든 코멘트가 저장되었으면 스풀 파일을 비운다.
+     */
+    private void compactIfIdle() {
+        if (this.committedOffset == 0 || !this.spoolLock.tryLock()) {
+            return;
+        }
+        try {
+            if (this.queue.isEmpty() && this.committedOffset == this.spoolChannel.size()) {
+                this.spoolChannel.truncate(0);
+                checkpoint(0);
+            }
+        } catch (IOException e) {
+            log.warn("코멘트 스풀 파일을 비우지 못했습니다.", e);
+        } finally {
+            this.spoolLock.unlock();
+        }
+    }
+
+    private void validate(CommentCreateRequest request) {
+        Set<ConstraintViolation<CommentCreateRequest>> violations = this.validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private record SpooledComment(Long bookId, String comment, Integer page, LocalDateTime createdAt) {
+    }
+
+    private record QueuedComment(SpooledComment comment, long endOffset) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.spring.onedayboot.common.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 읽기 메서드에 붙이면, 읽기 전용 트랜잭션이어도 메서드가 실행되는 동안 primary 에서 읽는다.
+ * 결과를 캐시에 넣어 다른 사용자와 함께 쓰는 메서드에 사용한다.
+ * 쓰기 직후 캐시를 비운 사이 다른 사용자가 아직 복제되지 않은 replica 에서 읽어 캐시를 채우면,
+ * 쓴 사용자도 primary 가 아닌 캐시에서 이전 내용을 읽게 되기 때문이다.
+ * replica 가 설정되지 않았으면 아무 동작도 하지 않는다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadFromPrimary {
+}
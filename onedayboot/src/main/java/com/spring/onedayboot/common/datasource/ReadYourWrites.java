@@ -0,0 +1,18 @@
+package com.spring.onedayboot.common.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 쓰기 메서드에 붙이면, 메서드가 정상 종료된 뒤 같은 사용자의 읽기 요청을 일정 시간 동안 primary 로 보낸다.
+ * 복제 지연 때문에 방금 등록하거나 수정한 내용이 replica 에서 보이지 않는 문제를 막는다.
+ * replica 가 설정되지 않았으면 아무 동작도 하지 않는다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadYourWrites {
+}
@@ -0,0 +1,64 @@
+package com.spring.onedayboot.common.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * {@link ReadYourWrites} 메서드가 끝나면 남은 요청과 같은 사용자의 다음 요청을 primary 로 보낸다.
+ * 다음 요청은 쿠키로 식별하며, 쿠키는 서비스 메서드가 끝난 시점(응답을 쓰기 전)에 추가한다.
+ * {@link ReadFromPrimary} 메서드는 실행되는 동안만 primary 에서 읽는다.
+ */
+@Aspect
+public class ReadYourWritesAspect {
+
+    static final String COOKIE_NAME = "primary-until";
+
+    private final Duration stickiness;
+
+    public ReadYourWritesAspect(Duration stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    @AfterReturning("@annotation(com.spring.onedayboot.common.datasource.ReadYourWrites)")
+    public void stickToPrimary() {
+        // 요청 밖(스케줄러, 쓰기 지연 큐 등)에서 호출되었으면 이어서 읽을 사용자가 없으므로 무시
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        long until = System.currentTimeMillis() + this.stickiness.toMillis();
+        ReadYourWritesContext.stickToPrimaryUntil(until);
+
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, this.stickiness.toSeconds()));
+            response.addCookie(cookie);
+        }
+    }
+
+    @Around("@annotation(com.spring.onedayboot.common.datasource.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        // 커넥션은 첫 SQL 을 실행할 때 가져오므로 트랜잭션이 먼저 시작되었어도 primary 에서 읽는다
+        Long previous = ReadYourWritesContext.getPrimaryUntil();
+        ReadYourWritesContext.stickToPrimaryUntil(Long.MAX_VALUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null) {
+                ReadYourWritesContext.clear();
+            } else {
+                ReadYourWritesContext.stickToPrimaryUntil(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.spring.onedayboot.common.datasource;
+
+/**
+ * 현재 요청이 primary 에서 읽어야 하는지를 스레드별로 보관한다.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<Long> PRIMARY_UNTIL = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    /**
+     * 현재 스레드의 읽기를 지정한 시각까지 primary 로 보낸다.
+     * @param epochMillis primary 에서 읽을 마지막 시각 (epoch 밀리초)
+     */
+    public static void stickToPrimaryUntil(long epochMillis) {
+        PRIMARY_UNTIL.set(epochMillis);
+    }
+
+    /**
+     * 현재 스레드의 읽기를 primary 로 보내야 하는지 반환한다.
+     * @return primary 에서 읽어야 하면 true
+     */
+    public static boolean isPrimaryRequired() {
+        Long until = PRIMARY_UNTIL.get();
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    /**
+     * 현재 스레드의 읽기를 primary 로 보낼 마지막 시각을 반환한다.
+     * @return primary 에서 읽을 마지막 시각 (epoch 밀리초, 설정되지 않았으면 null)
+     */
+    public static Long getPrimaryUntil() {
+        return PRIMARY_UNTIL.get();
+    }
+
+    /**
+     * 현재 스레드의 설정을 지운다.
+     */
+    public static void clear() {
+        PRIMARY_UNTIL.remove();
+    }
+}
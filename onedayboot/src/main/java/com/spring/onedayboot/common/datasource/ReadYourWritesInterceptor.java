@@ -0,0 +1,52 @@
+package com.spring.onedayboot.common.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * 최근에 쓰기를 한 사용자의 요청이면 요청을 처리하는 동안 읽기를 primary 로 보낸다.
+ * 쿠키 값은 클라이언트가 바꿀 수 있으므로 지금부터 stickiness 이후까지만 인정한다.
+ * 쿠키를 조작해도 stickiness 동안 primary 에서 읽게 될 뿐 그 이상 replica 를 우회할 수 없다.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private final Duration stickiness;
+
+    public ReadYourWritesInterceptor(Duration stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return true;
+        }
+        for (Cookie cookie : cookies) {
+            if (ReadYourWritesAspect.COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    long until = Long.parseLong(cookie.getValue());
+                    ReadYourWritesContext.stickToPrimaryUntil(
+                            Math.min(until, System.currentTimeMillis() + this.stickiness.toMillis()));
+                } catch (NumberFormatException e) {
+                    // 잘못된 쿠키는 무시하고 replica 에서 읽는다
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWritesContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadYourWritesContext.clear();
+    }
+}
@@ -0,0 +1,117 @@
+package com.spring.onedayboot.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 커넥션을 replica 에 라운드 로빈으로 나눠주는 DataSource.
+ * 연결에 실패한 replica 는 제외했다가 상태 확인에 성공하면 다시 사용하며,
+ * 사용할 수 있는 replica 가 없거나 최근에 쓰기를 한 요청이면 primary 에서 커넥션을 가져온다.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> names;
+    private final Set<String> ejected = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+    private final int validationTimeoutSeconds;
+
+    /**
+     * @param primary replica 를 사용할 수 없을 때 사용할 primary DataSource
+     * @param replicas 이름별 replica DataSource
+     * @param validationTimeoutSeconds 상태 확인 시 커넥션 검증 제한 시간 (초)
+     */
+    public ReplicaDataSource(DataSource primary, Map<String, DataSource> replicas, int validationTimeoutSeconds) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.names = List.copyOf(replicas.keySet());
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection, true);
+    }
+
+    /**
+     * 지정한 계정으로 같은 방식으로 커넥션을 가져온다.
+     * 계정 오류일 수도 있으므로 연결에 실패해도 replica 를 제외하지 않고 다음 replica 로 넘어간다.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password), false);
+    }
+
+    private Connection route(ConnectionSource source, boolean ejectOnFailure) throws SQLException {
+        if (ReadYourWritesContext.isPrimaryRequired()) {
+            return source.getConnection(this.primary);
+        }
+        // 한 바퀴 돌 때까지 정상인 replica 를 찾고, 실패하면 제외한 뒤 다음 replica 로 넘어간다
+        for (int i = 0; i < this.names.size(); i++) {
+            String name = this.names.get(Math.floorMod(this.next.getAndIncrement(), this.names.size()));
+            if (this.ejected.contains(name)) {
+                continue;
+            }
+            try {
+                return source.getConnection(this.replicas.get(name));
+            } catch (SQLException e) {
+                if (ejectOnFailure) {
+                    eject(name, e);
+                }
+            }
+        }
+        return source.getConnection(this.primary);
+    }
+
+    /**
+     * 모든 replica 의 상태를 확인해 실패한 replica 는 제외하고, 복구된 replica 는 다시 사용한다.
+     */
+    public void checkHealth() {
+        for (String name : this.names) {
+            try (Connection connection = this.replicas.get(name).getConnection()) {
+                if (!connection.isValid(this.validationTimeoutSeconds)) {
+                    throw new SQLException("커넥션 검증에 실패했습니다.");
+                }
+                if (this.ejected.remove(name)) {
+                    log.info("replica 를 다시 사용합니다: {}", name);
+                }
+            } catch (SQLException e) {
+                eject(name, e);
+            }
+        }
+    }
+
+    /**
+     * 제외되지 않은 replica 이름을 반환한다.
+     * @return 사용 중인 replica 이름 목록
+     */
+    public List<String> getHealthyReplicas() {
+        return this.names.stream().filter(name -> !this.ejected.contains(name)).toList();
+    }
+
+    private void eject(String name, SQLException e) {
+        if (this.ejected.add(name)) {
+            log.warn("replica 를 제외합니다: {}", name, e);
+        }
+    }
+
+    /**
+     * 고른 DataSource 에서 커넥션을 가져오는 방법 (기본 계정 또는 지정한 계정).
+     */
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection getConnection(DataSource dataSource) throws SQLException;
+    }
+}
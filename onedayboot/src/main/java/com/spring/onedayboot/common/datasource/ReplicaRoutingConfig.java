@@ -0,0 +1,125 @@
+package com.spring.onedayboot.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * datasource.replica.nodes 가 설정되면 읽기 전용 트랜잭션을 replica 로 보내는 DataSource 를 등록한다.
+ * <p>
+ * 커넥션은 첫 SQL 을 실행할 때 가져오므로 @Transactional(readOnly = true) 로 표시된 트랜잭션은
+ * replica 에서, 나머지는 primary 에서 실행된다. replica 를 설정하지 않으면 기본 DataSource 를 그대로 사용한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.nodes[0].url")
+public class ReplicaRoutingConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final Duration stickiness;
+    private ReplicaDataSource replicaDataSource;
+
+    public ReplicaRoutingConfig(@Value("${datasource.replica.read-your-writes:5s}") Duration stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    /**
+     * primary 와 replica 커넥션 풀을 만들고 읽기 전용 여부에 따라 나눠주는 DataSource 를 반환한다.
+     * 커넥션 풀 설정(spring.datasource.hikari) 은 primary 와 replica 에 똑같이 적용한다.
+     * 커넥션 풀은 빈이 아니므로 자동 설정 대신 여기서 풀마다 hikaricp.* 메트릭을 등록한다. (pool 태그로 구분)
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${datasource.replica.connection-timeout:2000}") long replicaConnectionTimeout) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        this.pools.add(primary);
+
+        List<ReplicaNode> nodes = binder.bind("datasource.replica.nodes", Bindable.listOf(ReplicaNode.class))
+                .orElse(List.of());
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            ReplicaNode node = nodes.get(i);
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(node.url())
+                    .username(node.username())
+                    .password(node.password())
+                    .build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            // 장애가 난 replica 에서 오래 기다리지 않고 바로 제외하도록 짧게 설정
+            replica.setConnectionTimeout(replicaConnectionTimeout);
+            this.pools.add(replica);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        // 풀이 시작되기 전(첫 커넥션을 가져오기 전)에만 설정할 수 있다
+        meterRegistry.ifAvailable(registry -> this.pools.forEach(pool ->
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry))));
+        this.replicaDataSource = new ReplicaDataSource(primary, replicas, 1);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(this.replicaDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesAspect readYourWritesAspect() {
+        return new ReadYourWritesAspect(this.stickiness);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(this.stickiness));
+    }
+
+    /**
+     * 주기적으로 replica 상태를 확인해 장애가 난 replica 를 제외하거나 다시 사용한다.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-interval:5000}")
+    public void checkReplicaHealth() {
+        if (this.replicaDataSource != null) {
+            this.replicaDataSource.checkHealth();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.pools.forEach(HikariDataSource::close);
+    }
+
+    /**
+     * replica 접속 정보.
+     * @param url JDBC URL
+     * @param username 사용자
+     * @param password 비밀번호
+     */
+    public record ReplicaNode(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.spring.onedayboot.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 실행된 SQL 문의 개수와 실행 시간 합계를 기록하고, 같은 SQL 문이 반복되면 N+1 로 판단해 경고한다.
+ */
+@Slf4j
+public class SqlMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public SqlMetricsInterceptor(MeterRegistry meterRegistry, int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlRequestContext.start();
+        return true;
+    }
+
+    /**
+     * 비동기 처리가 시작되면 요청 스레드의 집계를 버린다. 비동기 디스패치에서 다시 집계한다.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlRequestContext.finish();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlRequestContext context = SqlRequestContext.finish();
+        if (context == null) {
+            return;
+        }
+        String uri = uri(request);
+        DistributionSummary.builder("sql.request.statements")
+                .description("JDBC statements executed per request")
+                .tag("uri", uri)
+                .register(this.meterRegistry)
+                .record(context.getStatementCount());
+        Timer.builder("sql.request.time")
+                .description("Total JDBC statement execution time per request")
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(this.meterRegistry)
+                .record(context.getElapsedMillis(), TimeUnit.MILLISECONDS);
+
+        if (context.getMaxRepeatCount() >= this.nPlusOneThreshold) {
+            Counter.builder("sql.request.n_plus_one")
+                    .description("Requests that repeated the same statement at least the configured threshold")
+                    .tag("uri", uri)
+                    .register(this.meterRegistry)
+                    .increment();
+            log.warn("N+1 의심: {} 에서 같은 SQL 이 {}회 실행되었습니다. {}",
+                    uri, context.getMaxRepeatCount(), context.getMostRepeatedQuery());
+        }
+    }
+
+    private String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
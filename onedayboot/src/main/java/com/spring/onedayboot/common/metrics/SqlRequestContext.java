@@ -0,0 +1,79 @@
+package com.spring.onedayboot.common.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 요청 하나에서 실행된 SQL 문을 스레드별로 집계한다.
+ * 요청을 처리하는 동안에만 활성화되며, 요청 밖에서 실행된 SQL 은 집계하지 않는다.
+ */
+public final class SqlRequestContext {
+
+    private static final ThreadLocal<SqlRequestContext> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> queryCounts = new HashMap<>();
+    private int statementCount;
+    private long elapsedMillis;
+
+    private SqlRequestContext() {
+    }
+
+    /**
+     * 현재 스레드에서 집계를 시작한다.
+     */
+    public static void start() {
+        CURRENT.set(new SqlRequestContext());
+    }
+
+    /**
+     * 현재 스레드의 집계를 끝내고 결과를 반환한다.
+     * @return 집계 결과 (시작하지 않았으면 null)
+     */
+    public static SqlRequestContext finish() {
+        SqlRequestContext context = CURRENT.get();
+        CURRENT.remove();
+        return context;
+    }
+
+    /**
+     * 실행된 SQL 문을 현재 요청에 기록한다.
+     * @param query 실행된 SQL 문
+     * @param elapsedMillis 실행 시간 (밀리초)
+     */
+    static void record(String query, long elapsedMillis) {
+        SqlRequestContext context = CURRENT.get();
+        if (context == null) {
+            return;
+        }
+        context.statementCount++;
+        context.elapsedMillis += elapsedMillis;
+        context.queryCounts.merge(query, 1, Integer::sum);
+    }
+
+    public int getStatementCount() {
+        return this.statementCount;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    /**
+     * 같은 SQL 문이 가장 많이 반복된 횟수를 반환한다. N+1 여부를 판단하는 데 사용한다.
+     * @return 최대 반복 횟수
+     */
+    public int getMaxRepeatCount() {
+        return this.queryCounts.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    /**
+     * 가장 많이 반복된 SQL 문을 반환한다.
+     * @return 가장 많이 반복된 SQL 문 (없으면 null)
+     */
+    public String getMostRepeatedQuery() {
+        return this.queryCounts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,41 @@
+package com.spring.onedayboot.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실행된 SQL 문을 종류별 타이머로 기록하고 현재 요청의 집계에 더한다.
+ */
+@RequiredArgsConstructor
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            String query = queryInfo.getQuery();
+            QueryType type = QueryUtils.getQueryType(query);
+            Timer.builder("sql.statements")
+                    .description("JDBC statement execution time")
+                    .tag("type", type.name().toLowerCase())
+                    .tag("success", String.valueOf(execInfo.isSuccess()))
+                    .register(this.meterRegistry)
+                    .record(execInfo.getElapsedTime(), TimeUnit.MILLISECONDS);
+            SqlRequestContext.record(query, execInfo.getElapsedTime());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.spring.onedayboot.common.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * 인증 없이 열려 있는 쓰기 요청의 빈도와 동시 처리 수를 제한한다.
+ * <ul>
+ *     <li>클라이언트 IP 별 빈도 제한: rate-limit.ip.*</li>
+ *     <li>책 별 코멘트 등록 빈도 제한: rate-limit.comment.* (코멘트 컨트롤러에서 요청 본문의 bookId 로 적용)</li>
+ *     <li>쓰기 요청 동시 처리 수 제한: rate-limit.write-bulkhead.max-concurrent</li>
+ * </ul>
+ * 부하 테스트로 처리량을 잴 때는 rate-limit.enabled=false 로 끈다.
+ */
+@Configuration
+@ConditionalOnProperty(value = "rate-limit.enabled", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final long maxKeys;
+    private final Duration idleTimeout;
+    private final RateLimiter ipRateLimiter;
+    private final int writeMaxConcurrent;
+
+    public RateLimitConfig(MeterRegistry meterRegistry,
+                           @Value("${rate-limit.max-keys:100000}") long maxKeys,
+                           @Value("${rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                           @Value("${rate-limit.ip.capacity:20}") long ipCapacity,
+                           @Value("${rate-limit.ip.refill-per-second:5}") double ipRefillPerSecond,
+                           @Value("${rate-limit.write-bulkhead.max-concurrent:5}") int writeMaxConcurrent) {
+        this.meterRegistry = meterRegistry;
+        this.maxKeys = maxKeys;
+        this.idleTimeout = idleTimeout;
+        this.ipRateLimiter = new RateLimiter("ip", ipCapacity, ipRefillPerSecond, maxKeys, idleTimeout, this.meterRegistry);
+        this.writeMaxConcurrent = writeMaxConcurrent;
+    }
+
+    /**
+     * 책 별 코멘트 등록 빈도 제한.
+     */
+    @Bean
+    public RateLimiter commentRateLimiter(@Value("${rate-limit.comment.capacity:10}") long capacity,
+                                          @Value("${rate-limit.comment.refill-per-second:2}") double refillPerSecond) {
+        return new RateLimiter("comment", capacity, refillPerSecond, this.maxKeys, this.idleTimeout, this.meterRegistry);
+    }
+
+    /**
+     * 빈도 제한을 먼저 적용해 거부될 요청이 동시 처리 허용 수를 차지하지 않도록 한다.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(this.ipRateLimiter))
+                .addPathPatterns("/book/**", "/comment/**", "/api/**");
+        registry.addInterceptor(new WriteBulkheadInterceptor(this.writeMaxConcurrent, this.meterRegistry))
+                .addPathPatterns("/book/**", "/comment/**", "/api/**");
+    }
+}
@@ -0,0 +1,39 @@
+package com.spring.onedayboot.common.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 쓰기 요청(GET, HEAD, OPTIONS 이외)을 클라이언트 IP 별로 제한하고, 초과하면 429 와 Retry-After 를 반환한다.
+ * 프록시 뒤에서 실행할 때는 server.forward-headers-strategy 를 설정해야 실제 클라이언트 IP 로 제한된다.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!isWrite(request)) {
+            return true;
+        }
+        long retryAfter = this.rateLimiter.tryAcquire(request.getRemoteAddr());
+        if (retryAfter == 0) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        return false;
+    }
+
+    static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+}
@@ -0,0 +1,79 @@
+package com.spring.onedayboot.common.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키(클라이언트 IP, 책 id 등) 별 토큰 버킷으로 요청 빈도를 제한한다.
+ * 버킷은 최대 개수와 미사용 만료 시간이 있는 Caffeine 캐시에 보관하므로 키가 많아져도 메모리가 제한된다.
+ */
+public class RateLimiter {
+
+    private final String name;
+    private final long capacity;
+    private final long refillIntervalNanos;
+    private final Cache<String, TokenBucket> buckets;
+    private final Counter rejectedCounter;
+
+    /**
+     * @param name 메트릭 태그에 사용할 이름
+     * @param capacity 한 번에 허용하는 최대 요청 수
+     * @param refillPerSecond 초당 채워지는 요청 수
+     * @param maxKeys 보관할 최대 키 수
+     * @param idleTimeout 이 시간 동안 요청이 없으면 버킷을 제거
+     * @param meterRegistry 메트릭 레지스트리
+     */
+    public RateLimiter(String name, long capacity, double refillPerSecond, long maxKeys, Duration idleTimeout,
+                       MeterRegistry meterRegistry) {
+        this.name = name;
+        this.capacity = capacity;
+        this.refillIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.rejectedCounter = Counter.builder("http.rate_limit.rejected")
+                .description("Requests rejected by the rate limiter")
+                .tag("limit", name)
+                .register(meterRegistry);
+        Gauge.builder("http.rate_limit.keys", this.buckets, Cache::estimatedSize)
+                .description("Number of keys tracked by the rate limiter")
+                .tag("limit", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 키에 대한 요청 하나를 허용할지 판단한다.
+     * @param key 제한 대상 키
+     * @return 허용되면 0, 거부되면 다시 시도할 수 있을 때까지의 초 (1 이상)
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    /**
+     * 주어진 시각에 키에 대한 요청 하나를 허용할지 판단한다.
+     * @param key 제한 대상 키
+     * @param now 현재 시각 (나노초)
+     * @return 허용되면 0, 거부되면 다시 시도할 수 있을 때까지의 초 (1 이상)
+     */
+    long tryAcquire(String key, long now) {
+        TokenBucket bucket = this.buckets.get(key, k -> new TokenBucket(this.capacity, this.refillIntervalNanos, now));
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos == 0) {
+            return 0;
+        }
+        this.rejectedCounter.increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    public String getName() {
+        return this.name;
+    }
+}
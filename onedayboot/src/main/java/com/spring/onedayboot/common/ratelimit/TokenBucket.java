@@ -0,0 +1,46 @@
+package com.spring.onedayboot.common.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 잠금 없이 동작하는 토큰 버킷.
+ * <p>
+ * 토큰 수 대신 "버킷이 가득 차는 시각" 하나만 AtomicLong 으로 보관하고 CAS 로 갱신한다(GCRA).
+ * 요청 하나는 토큰 하나를 소비하며, 토큰은 refillIntervalNanos 마다 하나씩 capacity 까지 채워진다.
+ */
+public class TokenBucket {
+
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param capacity 한 번에 허용하는 최대 요청 수
+     * @param refillIntervalNanos 토큰 하나가 채워지는 간격 (나노초)
+     * @param nowNanos 현재 시각 (나노초)
+     */
+    public TokenBucket(long capacity, long refillIntervalNanos, long nowNanos) {
+        this.refillIntervalNanos = refillIntervalNanos;
+        this.burstNanos = capacity * refillIntervalNanos;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 토큰 하나를 소비한다.
+     * @param nowNanos 현재 시각 (나노초)
+     * @return 소비했으면 0, 토큰이 없으면 다음 토큰까지 기다려야 하는 시간 (나노초)
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = this.fullAt.get();
+            long next = Math.max(current, nowNanos) + this.refillIntervalNanos;
+            long overflow = next - nowNanos - this.burstNanos;
+            if (overflow > 0) {
+                return overflow;
+            }
+            if (this.fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
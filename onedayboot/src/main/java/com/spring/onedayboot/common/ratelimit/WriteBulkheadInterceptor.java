@@ -0,0 +1,58 @@
+package com.spring.onedayboot.common.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * 동시에 처리하는 쓰기 요청 수를 제한한다.
+ * 쓰기 요청이 몰려도 커넥션 풀을 모두 차지하지 않도록 풀 크기보다 작게 설정해 조회 요청이 쓸 커넥션을 남겨둔다.
+ * 허용 수를 넘으면 기다리지 않고 503 과 Retry-After 를 반환한다.
+ */
+public class WriteBulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = WriteBulkheadInterceptor.class.getName() + ".permit";
+
+    private final Semaphore permits;
+    private final Counter rejectedCounter;
+
+    public WriteBulkheadInterceptor(int maxConcurrent, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.rejectedCounter = Counter.builder("http.write_bulkhead.rejected")
+                .description("Write requests rejected because the bulkhead was full")
+                .register(meterRegistry);
+        Gauge.builder("http.write_bulkhead.active", this.permits, p -> maxConcurrent - p.availablePermits())
+                .description("Write requests currently holding a bulkhead permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!RateLimitInterceptor.isWrite(request)) {
+            return true;
+        }
+        if (this.permits.tryAcquire()) {
+            request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+            return true;
+        }
+        this.rejectedCounter.increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            this.permits.release();
+        }
+    }
+}
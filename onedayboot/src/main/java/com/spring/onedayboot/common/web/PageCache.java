@@ -0,0 +1,96 @@
+package com.spring.onedayboot.common.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 렌더링한 화면을 gzip 으로 압축해 보관하고, 데이터가 바뀌지 않았으면 다시 렌더링하지 않고 그대로 응답한다.
+ * <p>
+ * 화면마다 키 하나에 최신 버전(ETag) 하나만 보관하므로, 책이나 코멘트가 바뀌어 버전이 달라지면 다음 요청에서 다시 렌더링해 덮어쓴다.
+ * 렌더링 결과는 {@link PageCacheFilter} 가 응답 본문을 받아 저장한다.
+ */
+@Component
+public class PageCache {
+
+    static final String KEY_ATTRIBUTE = PageCache.class.getName() + ".key";
+    static final String VERSION_ATTRIBUTE = PageCache.class.getName() + ".version";
+
+    private final Cache<String, CachedPage> cache;
+
+    public PageCache(ObjectProvider<MeterRegistry> meterRegistry,
+                     @Value("${page-cache.max-size:32MB}") DataSize maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedPage page) -> key.length() + page.gzipped().length)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, this.cache, "page"));
+    }
+
+    /**
+     * 같은 버전으로 렌더링한 화면이 있으면 응답에 쓴다.
+     * 없으면 이번 요청의 렌더링 결과를 저장하도록 표시한다.
+     * @param key 화면 키 (요청 파라미터를 정규화한 값)
+     * @param version 화면 데이터의 버전 (ETag)
+     * @param request 요청
+     * @param response 응답
+     * @return 응답에 썼으면 true, 렌더링해야 하면 false
+     */
+    public boolean writeIfCached(String key, String version, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CachedPage page = this.cache.getIfPresent(key);
+        if (page == null || !page.version().equals(version)) {
+            request.setAttribute(KEY_ATTRIBUTE, key);
+            request.setAttribute(VERSION_ATTRIBUTE, version);
+            return false;
+        }
+        response.setContentType(page.contentType());
+        if (acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLength(page.gzipped().length);
+            response.getOutputStream().write(page.gzipped());
+        } else {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(page.gzipped()))) {
+                in.transferTo(response.getOutputStream());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 렌더링 결과를 압축해 저장한다.
+     */
+    void put(String key, String version, String contentType, byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.cache.put(key, new CachedPage(version, contentType, out.toByteArray()));
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    private record CachedPage(String version, String contentType, byte[] gzipped) {
+    }
+}
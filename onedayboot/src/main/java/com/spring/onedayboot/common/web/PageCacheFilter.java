@@ -0,0 +1,47 @@
+package com.spring.onedayboot.common.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * {@link PageCache} 에 저장하도록 표시된 요청의 렌더링 결과를 받아 저장한다.
+ */
+public class PageCacheFilter extends OncePerRequestFilter {
+
+    private final PageCache pageCache;
+
+    public PageCacheFilter(PageCache pageCache) {
+        this.pageCache = pageCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            // 캐시된 화면은 Accept-Encoding 에 따라 압축 여부가 달라진다
+            wrapper.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            Object key = request.getAttribute(PageCache.KEY_ATTRIBUTE);
+            if (key != null && wrapper.getStatus() == HttpStatus.OK.value() && wrapper.getContentSize() > 0) {
+                this.pageCache.put(key.toString(), (String) request.getAttribute(PageCache.VERSION_ATTRIBUTE),
+                        wrapper.getContentType(), wrapper.getContentAsByteArray());
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
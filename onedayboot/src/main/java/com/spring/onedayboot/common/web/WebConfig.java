@@ -0,0 +1,35 @@
+package com.spring.onedayboot.common.web;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+
+/**
+ * 화면 응답의 Cache-Control 정책 설정.
+ * 책 화면은 ETag 로 검증하므로 브라우저가 저장은 하되 매번 재검증하도록 한다.
+ * 정적 리소스는 파일 내용 해시로 경로가 바뀌므로 application.yaml 에서 장기 캐시를 설정한다.
+ * 책 화면의 렌더링 결과는 {@link PageCache} 에 보관해 다른 클라이언트의 요청에도 재사용한다.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Bean
+    public FilterRegistrationBean<PageCacheFilter> pageCacheFilter(PageCache pageCache) {
+        FilterRegistrationBean<PageCacheFilter> registration = new FilterRegistrationBean<>(new PageCacheFilter(pageCache));
+        registration.addUrlPatterns("/book", "/book/list", "/book/read/*");
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        WebContentInterceptor interceptor = new WebContentInterceptor();
+        interceptor.addCacheMapping(CacheControl.noCache().cachePrivate(), "/book", "/book/list", "/book/read/*");
+        // 입력 화면은 항상 최신 버전으로 그려야 하므로 저장하지 않는다
+        interceptor.addCacheMapping(CacheControl.noStore(), "/book/create", "/book/edit/*");
+        registry.addInterceptor(interceptor);
+    }
+}
@@ -0,0 +1,6 @@
+-- 소프트 삭제 시각, 값이 있으면 조회에서 제외되고 정리 작업에서 물리 삭제된다
+alter table book add column deleted_at timestamp(6);
+alter table comment add column deleted_at timestamp(6);
+
+-- deleted_at 에는 인덱스를 두지 않는다. 거의 모든 행이 NULL 이라 목록 조회의 deleted_at IS NULL 조건에
+-- 이 인덱스가 선택되면 정렬용 인덱스를 쓰지 못한다. 정리 작업은 주기적으로 한 번 스캔한다.
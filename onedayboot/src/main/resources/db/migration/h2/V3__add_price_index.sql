@@ -0,0 +1,2 @@
+-- 가격대 필터 (where price >= ? and price < ?), 가격대별 책 수는 메모리에서 집계하므로 이 인덱스로 GROUP BY 하지 않는다
+create index idx_book_price on book (price, book_id);
@@ -0,0 +1,2 @@
+-- 코멘트는 개별로 소프트 삭제하지 않고 책을 정리할 때 함께 물리 삭제하므로 사용하지 않는 컬럼을 제거한다
+alter table comment drop column deleted_at;
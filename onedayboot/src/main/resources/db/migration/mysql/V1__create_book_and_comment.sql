@@ -0,0 +1,33 @@
+create table book (
+    book_id           bigint       not null auto_increment,
+    title             varchar(255) not null,
+    price             bigint       not null,
+    comment_count     bigint       default 0 not null,
+    last_commented_at datetime(6),
+    created_at        datetime(6),
+    modified_at       datetime(6),
+    version           bigint       default 0 not null,
+    primary key (book_id)
+) engine = InnoDB;
+
+create table comment (
+    comment_id  bigint       not null auto_increment,
+    book_id     bigint,
+    comment     varchar(255) not null,
+    page        int          not null,
+    created_at  datetime(6),
+    modified_at datetime(6),
+    version     bigint       default 0 not null,
+    primary key (comment_id)
+) engine = InnoDB;
+
+-- 최신순 목록과 키셋 페이지네이션 (order by created_at, book_id)
+create index idx_book_created_at on book (created_at, book_id);
+-- 인기순 목록 (order by comment_count, book_id)
+create index idx_book_comment_count on book (comment_count, book_id);
+-- 책 상세의 코멘트 페이지와 내보내기 (where book_id = ? order by comment_id)
+-- InnoDB 는 외래 키에 이 인덱스를 그대로 사용한다
+create index idx_comment_book_id on comment (book_id, comment_id);
+
+-- 인덱스를 먼저 만들어 외래 키가 별도 인덱스를 만들지 않고 idx_comment_book_id 를 사용하도록 한다
+alter table comment add constraint fk_comment_book foreign key (book_id) references book (book_id);
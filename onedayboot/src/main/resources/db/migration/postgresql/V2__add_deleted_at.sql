@@ -0,0 +1,6 @@
+-- 소프트 삭제 시각, 값이 있으면 조회에서 제외되고 정리 작업에서 물리 삭제된다
+alter table book add column deleted_at timestamp(6);
+alter table comment add column deleted_at timestamp(6);
+
+-- 정리 작업이 삭제된 책을 찾을 때 사용, 삭제된 행만 담는 부분 인덱스라 목록 조회에는 영향이 없다
+create index idx_book_deleted on book (book_id) where deleted_at is not null;
@@ -0,0 +1,72 @@
+$(document).ready(function () {
+  // 같은 코멘트를 더보기와 피드에서 모두 받을 수 있으므로 id 로 한 번만 추가
+  function appendComment(comment) {
+    if ($('#comments p[data-comment-id="' + comment.commentId + '"]').length) {
+      return;
+    }
+    $('#comments').append(
+      $('<p>').attr('data-comment-id', comment.commentId).text(comment.displayComment)
+    );
+  }
+
+  // 다른 사람이 등록한 코멘트도 새로고침 없이 받는다
+  var feed = null;
+  if (window.EventSource) {
+    var feedUrl = '/comment/stream?bookId=' + $('#save').attr('data-bookId');
+    // 마지막 코멘트까지 화면에 있으면, 화면을 그린 뒤 구독하기 전에 등록된 코멘트를 그 다음부터 다시 받는다
+    // (다음 페이지가 남아 있으면 그 코멘트는 더보기로 받는다)
+    if (!$('#more').length) {
+      feedUrl += '&after=' + ($('#comments p[data-comment-id]').last().attr('data-comment-id') || 0);
+    }
+    feed = new EventSource(feedUrl);
+    feed.addEventListener('comment', function (event) {
+      appendComment(JSON.parse(event.data));
+    });
+  }
+
+  $('#more').click(function () {
+    $.ajax({
+      type: 'GET',
+      url: '/comment/list',
+      data: {
+        bookId: $('#more').attr('data-bookId'),
+        cursor: $('#more').attr('data-cursor'),
+      },
+      success: function (data) {
+        $.each(data.comments, function (index, comment) {
+          appendComment(comment);
+        });
+        if (data.hasNext) {
+          $('#more').attr('data-cursor', data.nextCursor);
+        } else {
+          $('#more').remove();
+        }
+      },
+    });
+  });
+  $('#save').click(function () {
+    var post_data = {
+      bookId: $('#save').attr('data-bookId'),
+      comment: $('#comment').val(),
+      page: $('#page').val() != '' ? $('#page').val() : null,
+    };
+    $.ajax({
+      type: 'POST',
+      url: '/comment/create',
+      data: JSON.stringify(post_data),
+      success: function (data) {
+        // 피드로 받을 코멘트는 추가하지 않는다 (쓰기 지연 모드의 202 도 저장된 뒤 피드로 전달됨)
+        if (feed != null && feed.readyState === EventSource.OPEN) {
+          return;
+        }
+        var append_html =
+          '<p>' +
+          (data.page == null ? '' : data.page + '페이지 ') +
+          data.comment +
+          '</p>';
+        $('#comments').append(append_html);
+      },
+      contentType: 'application/json',
+    });
+  });
+});
@@ -0,0 +1,142 @@
+package com.spring.onedayboot.book.controller;
+
+import com.spring.onedayboot.book.dto.BookReadResponse;
+import com.spring.onedayboot.book.entity.Book;
+import com.spring.onedayboot.book.entity.Comment;
+import com.spring.onedayboot.book.repository.BookRepository;
+import com.spring.onedayboot.book.repository.CommentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.open-in-view=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class BookReadQueryCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void readBookRunsSingleBookAndFirstCommentPageStatement() throws Exception {
+        Book book = this.bookRepository.save(Book.builder().title("테스트").price(1000L).build());
+        for (int i = 1; i <= 30; i++) {
+            this.commentRepository.save(Comment.builder().book(book).comment("코멘트" + i).page(i).build());
+        }
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MvcResult result = this.mockMvc.perform(get("/book/read/{bookId}", book.getBookId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // 책과 코멘트 첫 페이지 1건, 코멘트 수와 무관
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        BookReadResponse response = (BookReadResponse) result.getModelAndView().getModel().get("book");
+        assertThat(response.getCommentList()).hasSize(20);
+        assertThat(response.getNextCommentCursor()).isEqualTo(response.getCommentList().get(19).getCommentId());
+    }
+
+    @Test
+    void conditionalReadRunsNoStatement() throws Exception {
+        Book book = this.bookRepository.save(Book.builder().title("테스트").price(1000L).build());
+        this.commentRepository.save(Comment.builder().book(book).comment("코멘트").page(1).build());
+
+        String eTag = this.mockMvc.perform(get("/book/read/{bookId}", book.getBookId()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        this.mockMvc.perform(get("/book/read/{bookId}", book.getBookId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        // 검증 값은 캐시된 조회 결과에서 꺼내므로 DB 를 조회하지 않는다
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+    }
+
+    @Test
+    void cachedPageRunsNoStatement() throws Exception {
+        Book book = this.bookRepository.save(Book.builder().title("테스트").price(1000L).build());
+        this.commentRepository.save(Comment.builder().book(book).comment("코멘트").page(1).build());
+
+        this.mockMvc.perform(get("/book/read/{bookId}", book.getBookId()))
+                .andExpect(status().isOk());
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // 다른 클라이언트의 요청이라도 같은 버전이면 렌더링한 화면을 압축된 그대로 반환한다
+        this.mockMvc.perform(get("/book/read/{bookId}", book.getBookId()).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+    }
+
+    @Test
+    void conditionalListRunsOnlyValidatorStatement() throws Exception {
+        Book matching = this.bookRepository.save(Book.builder().title("목록 검증 대상").price(1000L).build());
+        Book other = this.bookRepository.save(Book.builder().title("다른 책").price(1000L).build());
+
+        String eTag = this.mockMvc.perform(get("/book/list").param("title", "목록 검증"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        this.mockMvc.perform(get("/book/list").param("title", "목록 검증").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        // 목록은 조회하지 않고 검증 값 집계 1건만 실행한다
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        // 조건에 맞지 않는 책에 코멘트가 등록되어도 검색 목록의 ETag 는 그대로다
+        createComment(other);
+        this.mockMvc.perform(get("/book/list").param("title", "목록 검증").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        createComment(matching);
+        this.mockMvc.perform(get("/book/list").param("title", "목록 검증").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    private void createComment(Book book) throws Exception {
+        this.mockMvc.perform(post("/comment/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookId\":" + book.getBookId() + ",\"comment\":\"코멘트\",\"page\":1}"))
+                .andExpect(status().isCreated());
+    }
+}
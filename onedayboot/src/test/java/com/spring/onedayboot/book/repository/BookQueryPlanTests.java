@@ -0,0 +1,110 @@
+package com.spring.onedayboot.book.repository;
+
+import com.spring.onedayboot.book.dto.BookListSort;
+import com.spring.onedayboot.book.service.BookService;
+import com.spring.onedayboot.book.service.CommentService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 목록, 검색, 상세 화면에서 실행되는 SQL 의 실행 계획이 마이그레이션에 정의한 인덱스를 사용하는지 확인한다.
+ * 서비스를 호출해 Hibernate 가 만든 SQL 을 그대로 가져와 EXPLAIN 한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plan;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.spring.onedayboot.book.repository.BookQueryPlanTests$CapturingInspector"
+})
+class BookQueryPlanTests {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        if (this.jdbcTemplate.queryForObject("select count(*) from book", Long.class) == 0) {
+            // 가격은 0 ~ 99000 에 고르게 퍼뜨려, 가격대 조건이 일부 책만 고르도록 한다
+            this.jdbcTemplate.update("insert into book (title, price, created_at) " +
+                    "select '책' || x, mod(x, 100) * 1000, dateadd('SECOND', x, timestamp '2024-01-01 00:00:00') from system_range(1, 5000)");
+            this.jdbcTemplate.update("insert into comment (book_id, comment, page, created_at) " +
+                    "select mod(x, 5000) + 1, '코멘트', 1, current_timestamp from system_range(1, 20000)");
+            this.jdbcTemplate.execute("analyze");
+        }
+        CapturingInspector.SQL.clear();
+    }
+
+    @Test
+    void latestListUsesCreatedAtIndex() {
+        this.bookService.searchBooks(null, null, null, 1, 10, Sort.Direction.DESC, BookListSort.LATEST);
+
+        assertThat(plan("from book")).contains("IDX_BOOK_CREATED_AT").doesNotContain("tableScan");
+    }
+
+    @Test
+    void popularListUsesCommentCountIndex() {
+        this.bookService.searchBooks(null, null, null, 1, 10, Sort.Direction.DESC, BookListSort.POPULARITY);
+
+        assertThat(plan("from book")).contains("IDX_BOOK_COMMENT_COUNT").doesNotContain("tableScan");
+    }
+
+    @Test
+    void titleScrollUsesCreatedAtIndex() {
+        String cursor = this.bookService.scrollBooks("1", null, null, null, 10, Sort.Direction.ASC, null).getNextCursor();
+        CapturingInspector.SQL.clear();
+        this.bookService.scrollBooks("1", null, null, cursor, 10, Sort.Direction.ASC, null);
+
+        assertThat(plan("from book")).contains("IDX_BOOK_CREATED_AT").doesNotContain("tableScan");
+    }
+
+    @Test
+    void priceRangeListUsesPriceIndex() {
+        this.bookService.searchBooks(null, 10000L, 30000L, 1, 10, Sort.Direction.DESC, BookListSort.LATEST);
+
+        assertThat(plan("from book")).contains("IDX_BOOK_PRICE").doesNotContain("tableScan");
+    }
+
+    @Test
+    void commentPageUsesBookIdIndex() {
+        this.commentService.listComments(1L, 100L, 20);
+
+        assertThat(plan("from comment")).contains("IDX_COMMENT_BOOK_ID").doesNotContain("tableScan");
+    }
+
+    /**
+     * 마지막으로 실행된 SQL 중 조건에 맞는 SQL 의 실행 계획을 반환한다. 파라미터는 NULL 로 채운다.
+     */
+    private String plan(String fragment) {
+        String sql = CapturingInspector.SQL.stream()
+                .filter(statement -> statement.toLowerCase().contains(fragment))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        return this.jdbcTemplate.queryForObject("explain " + sql, String.class, parameters);
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
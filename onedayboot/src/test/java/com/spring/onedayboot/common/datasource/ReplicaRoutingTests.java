@@ -0,0 +1,142 @@
+package com.spring.onedayboot.common.datasource;
+
+import com.spring.onedayboot.book.dto.BookCreateRequest;
+import com.spring.onedayboot.book.dto.BookUpdateRequest;
+import com.spring.onedayboot.book.service.BookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "datasource.replica.nodes[0].url=jdbc:h2:tcp://localhost:1/unreachable",
+        "datasource.replica.nodes[1].url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "datasource.replica.nodes[1].username=sa",
+        "datasource.replica.connection-timeout=250"
+})
+class ReplicaRoutingTests {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BookService bookService;
+
+    /**
+     * 운영의 replica 처럼 primary 와 같은 스키마를 갖도록 애플리케이션이 시작되기 전에 마이그레이션한다.
+     */
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", "")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    @AfterEach
+    void clear() {
+        ReadYourWritesContext.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsUseHealthyReplica() {
+        // 연결할 수 없는 replica 는 제외되고 나머지 replica 로만 라운드 로빈
+        for (int i = 0; i < 3; i++) {
+            assertThat(currentDatabase(true)).isEqualTo("REPLICA");
+        }
+        assertThat(currentDatabase(false)).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void readOnlyQueriesRunAgainstReplicaSchema() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        transactionTemplate.setReadOnly(true);
+        Number count = transactionTemplate.execute(status ->
+                (Number) this.entityManager.createNativeQuery("select count(*) from book").getSingleResult());
+
+        assertThat(count).isNotNull();
+    }
+
+    @Test
+    void replicaPoolsReportHikariMetrics() {
+        currentDatabase(true);
+
+        assertThat(this.meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(this.meterRegistry.find("hikaricp.connections").tag("pool", "replica-1").gauge()).isNotNull();
+    }
+
+    @Test
+    void readsAfterWriteStickToPrimary() {
+        ReadYourWritesContext.stickToPrimaryUntil(System.currentTimeMillis() + 5000);
+
+        assertThat(currentDatabase(true)).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void cachedBookIsFilledFromPrimaryWhileReplicaLags() {
+        BookCreateRequest create = new BookCreateRequest();
+        create.setTitle("before");
+        create.setPrice(1000L);
+        Long bookId = this.bookService.createBook(create);
+        // replica 에는 수정 전 내용까지만 복제된 상태
+        new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", ""))
+                .update("insert into book (book_id, title, price, created_at) values (?, 'before', 1000, ?)",
+                        bookId, LocalDateTime.now());
+
+        BookUpdateRequest update = new BookUpdateRequest();
+        update.setBookId(bookId);
+        update.setTitle("after");
+        update.setPrice(1000L);
+        update.setVersion(this.bookService.editBook(bookId).getVersion());
+        update.setPreviousPrice(1000L);
+        this.bookService.updateBook(update);
+
+        // 쓰기를 하지 않은 사용자가 먼저 읽어 비워진 캐시를 채운다
+        ReadYourWritesContext.clear();
+        assertThat(currentTitle(bookId)).isEqualTo("before");
+        assertThat(this.bookService.readBook(bookId).getTitle()).isEqualTo("after");
+        assertThat(this.bookService.editBook(bookId).getTitle()).isEqualTo("after");
+        assertThat(currentDatabase(true)).isEqualTo("REPLICA");
+
+        // 쓴 사용자가 다시 읽어도 캐시에서 수정된 내용을 읽는다
+        ReadYourWritesContext.stickToPrimaryUntil(System.currentTimeMillis() + 5000);
+        assertThat(this.bookService.readBook(bookId).getTitle()).isEqualTo("after");
+        assertThat(this.bookService.editBook(bookId).getTitle()).isEqualTo("after");
+    }
+
+    private String currentTitle(Long bookId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status ->
+                (String) this.entityManager.createNativeQuery("select title from book where book_id = :bookId")
+                        .setParameter("bookId", bookId)
+                        .getSingleResult());
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                (String) this.entityManager.createNativeQuery("select database()").getSingleResult());
+    }
+}
@@ -0,0 +1,64 @@
+package com.spring.onedayboot.common.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void retryAfterIsRoundedUpToSeconds() {
+        // 2 초에 토큰 하나
+        RateLimiter rateLimiter = new RateLimiter("test", 2, 0.5, 100, Duration.ofMinutes(1), this.meterRegistry);
+
+        assertThat(rateLimiter.tryAcquire("a", 0)).isZero();
+        assertThat(rateLimiter.tryAcquire("a", 0)).isZero();
+        assertThat(rateLimiter.tryAcquire("a", 0)).isEqualTo(2);
+        assertThat(rateLimiter.tryAcquire("a", SECOND + 1)).isEqualTo(1);
+        assertThat(rateLimiter.tryAcquire("a", 2 * SECOND)).isZero();
+        assertThat(this.meterRegistry.get("http.rate_limit.rejected").tag("limit", "test").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        RateLimiter rateLimiter = new RateLimiter("test", 1, 1, 100, Duration.ofMinutes(1), this.meterRegistry);
+
+        assertThat(rateLimiter.tryAcquire("a", 0)).isZero();
+        assertThat(rateLimiter.tryAcquire("a", 0)).isEqualTo(1);
+        assertThat(rateLimiter.tryAcquire("b", 0)).isZero();
+    }
+
+    @Test
+    void interceptorRejectsWritesWithRetryAfter() {
+        RateLimiter rateLimiter = new RateLimiter("ip", 1, 0.25, 100, Duration.ofMinutes(1), this.meterRegistry);
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter);
+
+        assertThat(interceptor.preHandle(request("POST"), new MockHttpServletResponse(), null)).isTrue();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("POST"), response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("4");
+
+        // 조회 요청은 제한하지 않는다
+        assertThat(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), null)).isTrue();
+    }
+
+    private MockHttpServletRequest request(String method) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/comment/create");
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
@@ -0,0 +1,64 @@
+package com.spring.onedayboot.common.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteBulkheadInterceptorTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WriteBulkheadInterceptor interceptor = new WriteBulkheadInterceptor(1, this.meterRegistry);
+
+    @Test
+    void rejectsWritesBeyondMaxConcurrent() {
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", "/book/create");
+        assertThat(this.interceptor.preHandle(first, new MockHttpServletResponse(), null)).isTrue();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(this.interceptor.preHandle(new MockHttpServletRequest("POST", "/book/create"), response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(this.meterRegistry.get("http.write_bulkhead.rejected").counter().count()).isEqualTo(1);
+        assertThat(this.meterRegistry.get("http.write_bulkhead.active").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void releasesPermitAfterCompletion() {
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", "/book/create");
+        this.interceptor.preHandle(first, new MockHttpServletResponse(), null);
+        this.interceptor.afterCompletion(first, new MockHttpServletResponse(), null, null);
+        // 같은 요청에 대해 다시 호출되어도 허용 수를 두 번 반납하지 않는다
+        this.interceptor.afterCompletion(first, new MockHttpServletResponse(), null, null);
+
+        assertThat(this.meterRegistry.get("http.write_bulkhead.active").gauge().value()).isZero();
+        MockHttpServletRequest second = new MockHttpServletRequest("POST", "/book/create");
+        assertThat(this.interceptor.preHandle(second, new MockHttpServletResponse(), null)).isTrue();
+        assertThat(this.interceptor.preHandle(new MockHttpServletRequest("POST", "/book/create"), new MockHttpServletResponse(), null)).isFalse();
+    }
+
+    @Test
+    void rejectedRequestDoesNotReleasePermit() {
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", "/book/create");
+        this.interceptor.preHandle(first, new MockHttpServletResponse(), null);
+        MockHttpServletRequest rejected = new MockHttpServletRequest("POST", "/book/create");
+        this.interceptor.preHandle(rejected, new MockHttpServletResponse(), null);
+
+        // 거부된 요청의 afterCompletion 이 다른 요청의 허용 수를 반납하면 안 된다
+        this.interceptor.afterCompletion(rejected, new MockHttpServletResponse(), null, null);
+
+        assertThat(this.meterRegistry.get("http.write_bulkhead.active").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void readsDoNotTakePermits() {
+        MockHttpServletRequest write = new MockHttpServletRequest("POST", "/book/create");
+        this.interceptor.preHandle(write, new MockHttpServletResponse(), null);
+
+        assertThat(this.interceptor.preHandle(new MockHttpServletRequest("GET", "/book/list"), new MockHttpServletResponse(), null)).isTrue();
+    }
+}